@@ -0,0 +1,56 @@
+package com.springboot.master.benchmark;
+
+import com.springboot.master.SpringBootMasterApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Boots the application for benchmarks that measure the persistence stack
+ *
+ * Same setup as the load harness: the real application on a random port with
+ * a fresh in-memory H2 database and quiet logging. BCrypt is lowered to cost 4
+ * so results reflect database work rather than hashing, which
+ * {@link PasswordEncoderBenchmark} measures on its own. Settings are passed as
+ * command-line arguments: builder properties are only defaults and would lose
+ * to application.properties.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {}
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(SpringBootMasterApplication.class, FastHashing.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.springboot.master=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+    }
+
+    /**
+     * Registered as a source rather than annotated, so component scanning of the
+     * load harness does not pick it up. The application's encoder is replaced
+     * rather than joined by a second one: with two PasswordEncoder beans Spring
+     * Security falls back to a DelegatingPasswordEncoder for basic auth.
+     */
+    public static class FastHashing {
+
+        @Bean
+        static BeanPostProcessor fastPasswordEncoder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof PasswordEncoder ? new BCryptPasswordEncoder(4) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.springboot.master.benchmark;
+
+import com.springboot.master.dto.UserResponseDto;
+import com.springboot.master.entity.User;
+import com.springboot.master.entity.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared test data for the benchmarks
+ *
+ * Values are realistic in size (names, emails, timestamps) so allocation
+ * figures are comparable to what production requests produce.
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    private BenchmarkFixtures() {}
+
+    public static User user(long id) {
+        User user = new User(
+            "user" + id,
+            "user" + id + "@example.com",
+            "$2a$12$abcdefghijklmnopqrstuuJ3nB4WqvV2y3F6pC9d0e1f2g3h4i5j6",
+            "First" + id,
+            "Last" + id,
+            20 + (int) (id % 50)
+        );
+        user.setId(id);
+        user.setRole(id % 10 == 0 ? UserRole.ADMIN : UserRole.USER);
+        user.setIsActive(true);
+        user.setCreatedAt(CREATED_AT.plusMinutes(id));
+        user.setUpdatedAt(CREATED_AT.plusMinutes(id));
+        return user;
+    }
+
+    public static UserResponseDto userResponse(long id) {
+        User user = user(id);
+        return new UserResponseDto(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getAge(),
+            user.getRole(),
+            user.getIsActive(),
+            user.getCreatedAt(),
+            user.getUpdatedAt()
+        );
+    }
+
+    public static List<UserResponseDto> userResponses(int count) {
+        List<UserResponseDto> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(userResponse(i));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,87 @@
+package com.springboot.master.benchmark;
+
+import com.springboot.master.cache.InProcessCacheInvalidationBus;
+import com.springboot.master.cache.TwoTierCacheManager;
+import com.springboot.master.config.AppCacheProperties;
+import com.springboot.master.config.AppConfig;
+import com.springboot.master.dto.UserResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache get/put benchmark through the application's CacheManager
+ *
+ * Demonstrates:
+ * - The same manager construction the application uses (AppConfig for the
+ *   single-tier Caffeine manager, TwoTierCacheManager for the near-cache setup)
+ * - Hit and miss lookups plus puts, which publish invalidations on the two-tier path
+ *
+ * The two-tier variant uses an in-process L2 and bus so it measures the
+ * decorator overhead, not Redis round trips.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+
+    private static final int KEYS = 1_000;
+
+    @Param({"caffeine", "twoTier"})
+    private String manager;
+
+    private Cache cache;
+    private UserResponseDto value;
+
+    @Setup
+    public void setUp() {
+        AppConfig appConfig = new AppConfig();
+        AppCacheProperties properties = new AppCacheProperties();
+        CacheManager cacheManager = switch (manager) {
+            case "caffeine" -> appConfig.cacheManager(properties);
+            case "twoTier" -> new TwoTierCacheManager(
+                    appConfig.cacheManager(properties),
+                    appConfig.cacheManager(properties),
+                    new InProcessCacheInvalidationBus(),
+                    List.of(AppConfig.CACHE_NAMES));
+            default -> throw new IllegalArgumentException("Unknown cache manager: " + manager);
+        };
+        cache = cacheManager.getCache("users");
+        value = BenchmarkFixtures.userResponse(42);
+        for (long id = 0; id < KEYS; id++) {
+            cache.put(id, BenchmarkFixtures.userResponse(id));
+        }
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper getHit() {
+        return cache.get((long) ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper getMiss() {
+        return cache.get((long) (KEYS + ThreadLocalRandom.current().nextInt(KEYS)));
+    }
+
+    @Benchmark
+    public void put() {
+        cache.put((long) ThreadLocalRandom.current().nextInt(KEYS), value);
+    }
+}
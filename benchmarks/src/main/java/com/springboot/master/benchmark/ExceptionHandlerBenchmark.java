@@ -0,0 +1,78 @@
+package com.springboot.master.benchmark;
+
+import com.springboot.master.exception.DuplicateResourceException;
+import com.springboot.master.exception.GlobalExceptionHandler;
+import com.springboot.master.exception.ResourceNotFoundException;
+import com.springboot.master.exception.ServiceUnavailableException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response construction benchmark
+ *
+ * Demonstrates:
+ * - Cost of the GlobalExceptionHandler paths for common client errors
+ * - Including exception creation, since stack trace capture usually dominates
+ *   the error path (the "prebuilt" variant isolates the handler itself)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private ResourceNotFoundException prebuiltNotFound;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/users/42"));
+        prebuiltNotFound = new ResourceNotFoundException("User not found with id: 42");
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> notFoundPrebuilt() {
+        return handler.handleResourceNotFoundException(prebuiltNotFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> notFound() {
+        return handler.handleResourceNotFoundException(
+                new ResourceNotFoundException("User not found with id: 42"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> duplicate() {
+        return handler.handleDuplicateResourceException(
+                new DuplicateResourceException("Username already exists: user42"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> serviceUnavailable() {
+        return handler.handleServiceUnavailableException(
+                new ServiceUnavailableException("Password hashing queue is full", 1), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> generic() {
+        return handler.handleGenericException(new IllegalStateException("boom"), request);
+    }
+}
@@ -0,0 +1,103 @@
+package com.springboot.master.benchmark;
+
+import com.springboot.master.ratelimit.GcraRateLimiter;
+import com.springboot.master.ratelimit.RateLimitFilter;
+import com.springboot.master.ratelimit.RateLimitRule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter overhead benchmark
+ *
+ * Demonstrates:
+ * - Per-request cost of the GCRA limiter, which must stay well under a microsecond
+ * - Contention: all threads on one client (CAS retries on a single AtomicLong)
+ *   versus requests spread over many clients
+ * - The whole servlet filter path, including route matching and the client key
+ *
+ * Limits are set high enough that requests are admitted, which is the common case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private GcraRateLimiter limiter;
+    private RateLimitFilter filter;
+    private String[] clientKeys;
+
+    @Setup
+    public void setUp() {
+        limiter = new GcraRateLimiter(List.of(
+                new RateLimitRule("search", "/users/search/**", null, 1e9, 1_000_000),
+                new RateLimitRule("default", "/**", null, 1e9, 1_000_000)), new SimpleMeterRegistry());
+        filter = new RateLimitFilter(limiter);
+        clientKeys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientKeys[i] = "user:client" + i;
+        }
+    }
+
+    /**
+     * Per-thread request objects, reset between invocations of the filter
+     */
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+        final FilterChain chain = (request, response) -> { };
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/api/v1/users/42");
+            request.setContextPath("/api/v1");
+            request.setRemoteAddr("10.0.0." + ThreadLocalRandom.current().nextInt(255));
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        String client = clientKeys[clients == 1 ? 0 : ThreadLocalRandom.current().nextInt(clients)];
+        return limiter.tryAcquire("GET", "/users/42", client);
+    }
+
+    @Benchmark
+    public long tryAcquireFirstRule() {
+        String client = clientKeys[clients == 1 ? 0 : ThreadLocalRandom.current().nextInt(clients)];
+        return limiter.tryAcquire("GET", "/users/search", client);
+    }
+
+    @Benchmark
+    public int filter(Exchange exchange) throws Exception {
+        filter.doFilter(exchange.request, exchange.response, exchange.chain);
+        return exchange.response.getStatus();
+    }
+}
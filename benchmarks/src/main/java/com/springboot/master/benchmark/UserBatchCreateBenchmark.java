@@ -0,0 +1,90 @@
+package com.springboot.master.benchmark;
+
+import com.springboot.master.dto.BatchCreateResponseDto;
+import com.springboot.master.dto.CreateUserDto;
+import com.springboot.master.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row vs bulk user creation benchmark
+ *
+ * Demonstrates:
+ * - Comparing the POST /users path (availability checks + one INSERT per row)
+ *   with POST /users/batch (set-based checks + batched INSERTs)
+ * - Booting the real persistence stack (Hibernate, H2, JDBC batching) once per trial
+ * - Reporting time per user with @OperationsPerInvocation
+ *
+ * Every invocation inserts a fresh set of users, so the table grows during the
+ * run; single-shot mode keeps the number of invocations small and fixed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserBatchCreateBenchmark {
+
+    private static final int USERS = 2_000;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private List<CreateUserDto> users;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextUsers() {
+        String prefix = "bulk" + invocation++ + "x";
+        users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new CreateUserDto(prefix + i, prefix + i + "@example.com", "password123",
+                    "First" + i, "Last" + i, 30));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void perRow() {
+        for (CreateUserDto dto : users) {
+            userService.createUser(dto);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public BatchCreateResponseDto batch() {
+        BatchCreateResponseDto response = userService.createUsers(users);
+        if (response.getCreated() != USERS) {
+            throw new IllegalStateException("Created " + response.getCreated() + " of " + USERS + " users");
+        }
+        return response;
+    }
+}
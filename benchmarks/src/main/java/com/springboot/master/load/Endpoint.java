@@ -0,0 +1,11 @@
+package com.springboot.master.load;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+/**
+ * One entry of the request mix: a name used in reports, its share of the
+ * arrival rate and a factory producing the next request to send.
+ */
+record Endpoint(String name, int weight, Supplier<HttpRequest.Builder> request) {
+}
@@ -0,0 +1,48 @@
+package com.springboot.master.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint
+ *
+ * Latency is recorded in microseconds from the request's intended start time,
+ * not from when it was actually sent, so queueing inside the client or the
+ * server is counted instead of hidden (no coordinated omission).
+ */
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histogram.recordValue(micros);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    LoadReport.EndpointResult toResult(double measuredSeconds) {
+        long count = histogram.getTotalCount();
+        return new LoadReport.EndpointResult(
+                count,
+                errors.sum(),
+                count / measuredSeconds,
+                millis(histogram.getMean()),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
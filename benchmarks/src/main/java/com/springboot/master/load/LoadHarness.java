@@ -0,0 +1,279 @@
+package com.springboot.master.load;
+
+import com.springboot.master.SpringBootMasterApplication;
+import com.springboot.master.entity.User;
+import com.springboot.master.entity.UserRole;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.service.UserRoleCounter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load harness for UserController
+ *
+ * Demonstrates:
+ * - Booting the real application (H2, full security and caching) on a random port
+ * - Seeding a realistic dataset before measuring
+ * - Fixed arrival rate (open model): requests are started on schedule whether or
+ *   not earlier ones have completed, so a slow server builds a backlog instead of
+ *   silently lowering the offered load
+ * - HdrHistogram percentiles per endpoint, saved as JSON and compared with a baseline
+ *
+ * Run from the project root after "mvn install -DskipTests":
+ * <pre>
+ * mvn -f benchmarks/pom.xml compile exec:java -Dload.rate=300 -Dload.duration=2m
+ * </pre>
+ * See {@link LoadOptions} for all settings. Use -Dload.auth-cost=4 to take the
+ * per-request BCrypt check of basic auth out of the picture; user creation then
+ * hashes at that cost as well.
+ */
+public final class LoadHarness {
+
+    private static final String USERNAME = "load";
+    private static final String PASSWORD = "load-password";
+    private static final int SEED_CHUNK = 1_000;
+
+    private final LoadOptions options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String authorization = "Basic " + Base64.getEncoder()
+            .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    private final AtomicLong createdUsers = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private String baseUrl;
+    private List<Long> seededIds;
+
+    private LoadHarness(LoadOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadHarness(LoadOptions.fromSystemProperties()).run();
+    }
+
+    private void run() throws Exception {
+        String passwordHash = new BCryptPasswordEncoder(options.authCost()).encode(PASSWORD);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootMasterApplication.class)
+                .initializers(this::useAuthCost)
+                // Arguments, not builder properties: those are defaults that application.properties overrides
+                .run(
+                        "--server.port=0",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.springboot.master=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--spring.security.user.name=" + USERNAME,
+                        "--spring.security.user.password=" + passwordHash,
+                        "--spring.security.user.roles=ADMIN",
+                        // One principal drives all traffic; per-client limits would cap the offered load
+                        "--app.rate-limit.enabled=false")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port + "/api/v1/users";
+            seededIds = seed(context.getBean(UserRepository.class));
+            // Seeding bypasses UserService, so bring the role counters up to date
+            context.getBean(UserRoleCounter.class).reconcile();
+
+            List<Endpoint> mix = endpoints();
+            System.out.printf("Warming up for %s at %d req/s%n", options.warmup(), options.rate());
+            drive(mix, options.warmup(), null);
+
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            mix.forEach(endpoint -> stats.put(endpoint.name(), new EndpointStats()));
+            System.out.printf("Measuring for %s at %d req/s%n", options.duration(), options.rate());
+            Instant startedAt = Instant.now();
+            drive(mix, options.duration(), stats);
+
+            double seconds = options.duration().toMillis() / 1000.0;
+            Map<String, LoadReport.EndpointResult> results = new LinkedHashMap<>();
+            stats.forEach((name, endpointStats) -> results.put(name, endpointStats.toResult(seconds)));
+            report(new LoadReport(startedAt, options.rate(), options.duration().toSeconds(), results));
+        }
+    }
+
+    /**
+     * Insert the seed users directly through the repository. All share one
+     * password hash, since seeding does not exercise the hashing path.
+     */
+    private List<Long> seed(UserRepository userRepository) {
+        String hash = new BCryptPasswordEncoder(4).encode("seed-password");
+        List<Long> ids = new ArrayList<>(options.users());
+        List<User> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 1; i <= options.users(); i++) {
+            User user = new User("seed" + i, "seed" + i + "@example.com", hash, "First" + i, "Last" + i, 18 + i % 60);
+            user.setRole(i % 20 == 0 ? UserRole.ADMIN : UserRole.USER);
+            chunk.add(user);
+            if (chunk.size() == SEED_CHUNK || i == options.users()) {
+                userRepository.saveAll(chunk).forEach(saved -> ids.add(saved.getId()));
+                chunk.clear();
+            }
+        }
+        System.out.printf("Seeded %d users%n", ids.size());
+        return ids;
+    }
+
+    /**
+     * Request mix, roughly read-heavy like the production traffic it stands in for
+     */
+    private List<Endpoint> endpoints() {
+        return List.of(
+                new Endpoint("getById", 40, () -> get("/" + randomSeedId())),
+                new Endpoint("list", 20, () -> get("?page=" + random(50) + "&size=20")),
+                new Endpoint("search", 15, () -> get("/search?name=Last" + (1 + random(options.users())))),
+                new Endpoint("byRole", 5, () -> get("/role/ADMIN?size=20")),
+                new Endpoint("create", 5, () -> {
+                    long n = createdUsers.incrementAndGet();
+                    String body = userBody("load" + runId + "n" + n, "New" + n, "Load");
+                    return json("").POST(HttpRequest.BodyPublishers.ofString(body));
+                }),
+                new Endpoint("update", 15, () -> {
+                    // Seed users keep their username, email and last name so other endpoints still find them
+                    int index = random(seededIds.size());
+                    String body = userBody("seed" + (index + 1), "Updated" + random(1_000), "Last" + (index + 1));
+                    return json("/" + seededIds.get(index)).PUT(HttpRequest.BodyPublishers.ofString(body));
+                }));
+    }
+
+    /**
+     * Issue requests at the configured rate for the given period. Latency is
+     * measured from each request's scheduled start; requests still in flight at
+     * the end are awaited and counted.
+     */
+    private void drive(List<Endpoint> mix, Duration period, Map<String, EndpointStats> stats) {
+        int totalWeight = mix.stream().mapToInt(Endpoint::weight).sum();
+        long intervalNanos = 1_000_000_000L / options.rate();
+        long start = System.nanoTime();
+        long end = start + period.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Endpoint endpoint = pick(mix, totalWeight);
+                EndpointStats endpointStats = stats != null ? stats.get(endpoint.name()) : null;
+                executor.execute(() -> {
+                    boolean success;
+                    try {
+                        HttpResponse<Void> response = client.send(
+                                endpoint.request().get().header("Authorization", authorization).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        success = response.statusCode() < 400;
+                    } catch (IOException ex) {
+                        success = false;
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (endpointStats != null) {
+                        endpointStats.record(System.nanoTime() - intended, success);
+                    }
+                });
+            }
+        }
+    }
+
+    private void report(LoadReport report) throws IOException {
+        System.out.println();
+        System.out.print(report.summary());
+        report.write(options.output());
+        System.out.printf("Results written to %s%n", options.output().toAbsolutePath());
+
+        if (!Files.exists(options.baseline()) || options.updateBaseline()) {
+            report.write(options.baseline());
+            System.out.printf("Baseline written to %s%n", options.baseline().toAbsolutePath());
+            return;
+        }
+        List<String> regressions = report.regressionsAgainst(LoadReport.read(options.baseline()), options.tolerance());
+        if (regressions.isEmpty()) {
+            System.out.printf("No regressions against %s (tolerance %.0f%%)%n",
+                    options.baseline().toAbsolutePath(), options.tolerance() * 100);
+            return;
+        }
+        System.out.println("Regressions against baseline:");
+        regressions.forEach(line -> System.out.println("  " + line));
+        if (options.failOnRegression()) {
+            throw new IllegalStateException(regressions.size() + " regression(s) against " + options.baseline());
+        }
+    }
+
+    /**
+     * Use the configured BCrypt cost for the application's encoder too. After the
+     * first login Spring Security re-encodes the basic-auth password with that
+     * encoder, so a cheaper hash alone would only last for one request.
+     */
+    private void useAuthCost(ConfigurableApplicationContext context) {
+        context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof PasswordEncoder ? new BCryptPasswordEncoder(options.authCost()) : bean;
+            }
+        });
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json");
+    }
+
+    private static String userBody(String username, String firstName, String lastName) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                + "\"password\":\"password123\",\"firstName\":\"" + firstName + "\","
+                + "\"lastName\":\"" + lastName + "\",\"age\":30}";
+    }
+
+    private long randomSeedId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static Endpoint pick(List<Endpoint> mix, int totalWeight) {
+        int roll = random(totalWeight);
+        for (Endpoint endpoint : mix) {
+            roll -= endpoint.weight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+}
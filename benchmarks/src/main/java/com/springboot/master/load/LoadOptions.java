@@ -0,0 +1,49 @@
+package com.springboot.master.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load harness settings, read from system properties
+ *
+ * <pre>
+ * load.rate                 requests per second, spread over all endpoints (default 200)
+ * load.warmup               warm-up period, not recorded (default 15s)
+ * load.duration             measured period (default 60s)
+ * load.users                seeded users (default 10000)
+ * load.auth-cost            BCrypt cost of basic auth and user creation (default 12, as in SecurityConfig)
+ * load.output               where this run's results are written
+ * load.baseline             baseline results to compare against; created from this run if missing
+ * load.update-baseline      overwrite the baseline with this run (default false)
+ * load.tolerance            allowed p99/throughput change before flagging a regression (default 0.20)
+ * load.fail-on-regression   fail the run when a regression is flagged (default false)
+ * </pre>
+ */
+record LoadOptions(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int users,
+        int authCost,
+        Path output,
+        Path baseline,
+        boolean updateBaseline,
+        double tolerance,
+        boolean failOnRegression) {
+
+    static LoadOptions fromSystemProperties() {
+        return new LoadOptions(
+                Integer.getInteger("load.rate", 200),
+                DurationStyle.detectAndParse(System.getProperty("load.warmup", "15s")),
+                DurationStyle.detectAndParse(System.getProperty("load.duration", "60s")),
+                Integer.getInteger("load.users", 10_000),
+                Integer.getInteger("load.auth-cost", 12),
+                Path.of(System.getProperty("load.output", "target/load-results.json")),
+                Path.of(System.getProperty("load.baseline", "load-baseline.json")),
+                Boolean.getBoolean("load.update-baseline"),
+                Double.parseDouble(System.getProperty("load.tolerance", "0.20")),
+                Boolean.getBoolean("load.fail-on-regression"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.springboot.master.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one load run, stored as JSON and compared against a baseline
+ *
+ * Latencies are in milliseconds, throughput in successful-or-not responses
+ * per second over the measured period.
+ */
+record LoadReport(Instant startedAt, int rate, long durationSeconds, Map<String, EndpointResult> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    record EndpointResult(long count, long errors, double throughput,
+                          double mean, double p50, double p95, double p99, double p999, double max) {
+    }
+
+    void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    /**
+     * Compare against a baseline and return one line per regression:
+     * p99 or error rate worse, or throughput lower, by more than the tolerance.
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((name, current) -> {
+            EndpointResult before = baseline.endpoints().get(name);
+            if (before == null) {
+                return;
+            }
+            if (current.p99() > before.p99() * (1 + tolerance)) {
+                regressions.add(String.format("%s p99 %.1f ms -> %.1f ms", name, before.p99(), current.p99()));
+            }
+            if (current.throughput() < before.throughput() * (1 - tolerance)) {
+                regressions.add(String.format("%s throughput %.1f/s -> %.1f/s", name, before.throughput(), current.throughput()));
+            }
+            if (errorRate(current) > errorRate(before) + tolerance / 100) {
+                regressions.add(String.format("%s error rate %.2f%% -> %.2f%%", name, errorRate(before) * 100, errorRate(current) * 100));
+            }
+        });
+        return regressions;
+    }
+
+    String summary() {
+        StringBuilder out = new StringBuilder(String.format("%-14s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        endpoints.forEach((name, r) -> out.append(String.format("%-14s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, r.count(), r.errors(), r.throughput(), r.p50(), r.p95(), r.p99(), r.max())));
+        return out.toString();
+    }
+
+    private static double errorRate(EndpointResult result) {
+        return result.count() == 0 ? 0 : (double) result.errors() / result.count();
+    }
+}
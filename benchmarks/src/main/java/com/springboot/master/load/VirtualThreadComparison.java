@@ -0,0 +1,183 @@
+package com.springboot.master.load;
+
+import com.springboot.master.SpringBootMasterApplication;
+import com.springboot.master.benchmark.BenchmarkApplication;
+import com.springboot.master.entity.User;
+import com.springboot.master.repository.UserRepository;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform vs virtual thread throughput comparison
+ *
+ * Demonstrates:
+ * - Booting the application twice, once per threading mode
+ * - Simulating a slow database round trip while a connection is held
+ * - Closed-model load: a fixed number of clients sending back to back, so the
+ *   result is the highest throughput each mode sustains
+ *
+ * Tomcat is capped at 20 platform threads and the connection pool at 60
+ * connections. Every user lookup holds its connection for 20 ms, as a remote
+ * MySQL would. In platform mode the thread count is the bottleneck; with
+ * virtual threads the pool is, so throughput should roughly triple. Both user
+ * caches are disabled so every request reaches the database, and BCrypt runs
+ * at cost 4 so basic auth does not dominate either mode.
+ *
+ * Run from the project root after "mvn install -DskipTests":
+ * <pre>
+ * mvn -f benchmarks/pom.xml compile exec:java@virtual-threads
+ * </pre>
+ */
+public final class VirtualThreadComparison {
+
+    private static final String USERNAME = "load";
+    private static final String PASSWORD = "load-password";
+    private static final int USERS = 1_000;
+    private static final int CONCURRENT_CLIENTS = 200;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration RUN_TIME = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String authorization = "Basic " + Base64.getEncoder()
+            .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+
+    private VirtualThreadComparison() {}
+
+    public static void main(String[] args) throws Exception {
+        VirtualThreadComparison comparison = new VirtualThreadComparison();
+        double platform = comparison.measure(false);
+        double virtual = comparison.measure(true);
+        System.out.printf("%nplatform threads: %,10.0f req/s%nvirtual threads:  %,10.0f req/s (%.1fx)%n",
+                platform, virtual, virtual / platform);
+    }
+
+    private double measure(boolean virtualThreads) throws Exception {
+        String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                SpringBootMasterApplication.class, SlowDatabase.class, BenchmarkApplication.FastHashing.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=20",
+                        "--spring.datasource.url=jdbc:h2:mem:vt" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=60",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.springboot.master=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--app.cache.specs.users.maximum-size=0",
+                        "--app.cache.specs[usersJson].maximum-size=0",
+                        "--spring.security.user.name=" + USERNAME,
+                        "--spring.security.user.password=" + passwordHash,
+                        "--spring.security.user.roles=ADMIN",
+                        // One principal drives all traffic; per-client limits would cap the offered load
+                        "--app.rate-limit.enabled=false",
+                        // Measure how far each mode gets, not how early pool pressure sheds load
+                        "--app.admission.enabled=false")) {
+            List<Long> ids = seed(context.getBean(UserRepository.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/v1/users/";
+            String mode = virtualThreads ? "virtual" : "platform";
+            System.out.printf("Warming up %s threads for %s%n", mode, WARMUP);
+            drive(baseUrl, ids, WARMUP);
+            System.out.printf("Measuring %s threads for %s with %d clients%n", mode, RUN_TIME, CONCURRENT_CLIENTS);
+            return drive(baseUrl, ids, RUN_TIME) / (double) RUN_TIME.toSeconds();
+        }
+    }
+
+    private static List<Long> seed(UserRepository userRepository) {
+        String hash = new BCryptPasswordEncoder(4).encode("password123");
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("vt" + i, "vt" + i + "@example.com", hash, "First" + i, "Last" + i, 30));
+        }
+        return userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    /**
+     * Successful responses completed by all clients within the period
+     */
+    private long drive(String baseUrl, List<Long> ids, Duration period) throws InterruptedException, ExecutionException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long deadline = System.nanoTime() + period.toNanos();
+        List<Future<Void>> runs = new ArrayList<>(CONCURRENT_CLIENTS);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENT_CLIENTS; c++) {
+                runs.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id))
+                                .header("Authorization", authorization)
+                                .timeout(REQUEST_TIMEOUT)
+                                .build();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        (response.statusCode() == 200 ? completed : failed).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        // Closing the executor waited for every client; surface the first one that broke
+        for (Future<Void> run : runs) {
+            run.get();
+        }
+        if (failed.get() > 0) {
+            System.out.printf("  %,d requests did not return 200%n", failed.get());
+        }
+        return completed.get();
+    }
+
+    /**
+     * Registered as a source rather than annotated, so component scanning of the
+     * load harness does not pick it up
+     */
+    static class SlowDatabase {
+
+        @Bean
+        SlowRepositoryAspect slowRepositoryAspect() {
+            return new SlowRepositoryAspect();
+        }
+    }
+
+    /**
+     * Adds 20 ms to every user lookup while the transaction (and its connection) is open
+     */
+    @Aspect
+    static class SlowRepositoryAspect {
+
+        @Around("execution(* com.springboot.master.repository.UserRepository.findById(..))")
+        public Object delay(ProceedingJoinPoint joinPoint) throws Throwable {
+            Thread.sleep(20);
+            return joinPoint.proceed();
+        }
+    }
+}
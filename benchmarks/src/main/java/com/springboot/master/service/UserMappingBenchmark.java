@@ -0,0 +1,45 @@
+package com.springboot.master.service;
+
+import com.springboot.master.benchmark.BenchmarkFixtures;
+import com.springboot.master.dto.UserResponseDto;
+import com.springboot.master.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping benchmark
+ *
+ * Demonstrates:
+ * - Measuring a package-private helper by placing the benchmark in the same package
+ * - Per-call allocation of the response DTO (read with -prof gc)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserMappingBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(42);
+    }
+
+    @Benchmark
+    public UserResponseDto mapToResponseDto() {
+        return UserService.mapToResponseDto(user);
+    }
+}
@@ -0,0 +1,91 @@
+package com.springboot.master.service;
+
+import com.springboot.master.benchmark.BenchmarkApplication;
+import com.springboot.master.dto.UserResponseDto;
+import com.springboot.master.entity.User;
+import com.springboot.master.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity vs DTO projection read path benchmark
+ *
+ * Demonstrates:
+ * - Comparing findAll(Pageable) + entity mapping with a SELECT new ... projection
+ * - Allocation per page read (gc.alloc.rate.norm from the gc profiler), which
+ *   includes Hibernate's managed entity copies on the entity path
+ * - Read-only transactions around each page, as the service layer opens them
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserReadProjectionBenchmark {
+
+    private static final int USERS = 5_000;
+    private static final int PAGE_SIZE = 50;
+    private static final String PASSWORD_HASH = "$2a$04$ioXx82rNLjD6A3NvIGNIVOEU.CrGSpazGbCWQ6yHcVRd5SMjXRCUW";
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userRepository = context.getBean(UserRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("proj" + i, "proj" + i + "@example.com", PASSWORD_HASH, "First" + i, "Last" + i, 30));
+        }
+        userRepository.saveAll(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<UserResponseDto> entityMapping() {
+        Pageable pageable = randomPage();
+        return readOnly.execute(status -> userRepository.findAll(pageable).map(UserService::mapToResponseDto));
+    }
+
+    @Benchmark
+    public Page<UserResponseDto> dtoProjection() {
+        Pageable pageable = randomPage();
+        return readOnly.execute(status -> userRepository.findAllResponses(pageable));
+    }
+
+    private static Pageable randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(USERS / PAGE_SIZE), PAGE_SIZE, Sort.by("id"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.springboot.master;
 
+import com.springboot.master.config.AdviceOrder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
@@ -18,11 +19,12 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  *   - @ComponentScan: Enables component scanning on the package
  * 
  * @EnableCaching - Enables Spring's annotation-driven cache management
+ *   (ordered explicitly, see {@link AdviceOrder})
  * @EnableAsync - Enables Spring's asynchronous method execution capability
  * @EnableScheduling - Enables Spring's scheduled task execution capability
  */
 @SpringBootApplication
-@EnableCaching
+@EnableCaching(order = AdviceOrder.CACHING)
 @EnableAsync
 @EnableScheduling
 public class SpringBootMasterApplication {
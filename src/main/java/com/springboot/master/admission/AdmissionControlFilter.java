@@ -0,0 +1,94 @@
+package com.springboot.master.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.master.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sheds requests with 503 + Retry-After while the connection pool is under pressure
+ *
+ * Demonstrates:
+ * - Admission control in front of the application: refused requests cost a
+ *   map lookup instead of a Tomcat thread parked on the pool
+ * - Priority-based shedding configured per path pattern
+ * - Runs before Spring Security, so shed requests skip the BCrypt check of basic auth
+ *
+ * Priorities come from app.admission.priorities (Ant patterns relative to the
+ * context path, first match wins); unmatched paths are {@link Priority#NORMAL}.
+ * Shed requests are counted as app.admission.shed{priority}.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final Supplier<PressureLevel> pressure;
+    private final Map<String, Priority> priorities;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    public AdmissionControlFilter(Supplier<PressureLevel> pressure, Map<String, Priority> priorities,
+                                  Duration retryAfter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.pressure = pressure;
+        this.priorities = priorities;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.objectMapper = objectMapper;
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, Counter.builder("app.admission.shed")
+                    .description("Requests refused with 503 because of connection pool pressure")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PressureLevel level = pressure.get();
+        if (level == PressureLevel.NORMAL) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Priority priority = priorityOf(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!level.sheds(priority)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        shed.get(priority).increment();
+        GlobalExceptionHandler.ErrorResponse error = new GlobalExceptionHandler.ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is overloaded, please retry later",
+                "uri=" + request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    Priority priorityOf(String path) {
+        for (Map.Entry<String, Priority> entry : priorities.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return Priority.NORMAL;
+    }
+}
@@ -0,0 +1,117 @@
+package com.springboot.master.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Samples the primary connection pool and derives a {@link PressureLevel}
+ *
+ * Demonstrates:
+ * - Reading live pool state from HikariPoolMXBean (active, waiting threads)
+ * - Turning cumulative Micrometer meters into a recent rate by diffing
+ *   consecutive samples (average acquire wait since the last sample)
+ * - Hysteresis: pressure rises immediately but falls one level per sample,
+ *   so shedding does not flap on and off between samples
+ *
+ * Sampling runs on the scheduler; request threads only read a volatile field.
+ */
+public class PoolPressureMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolPressureMonitor.class);
+
+    /**
+     * Pool state at one sampling point
+     *
+     * @param recentWaitMillis average acquire wait since the previous sample
+     * @param recentTimeouts   acquire timeouts since the previous sample
+     */
+    record Sample(int active, int max, int awaiting, double recentWaitMillis, long recentTimeouts) {
+    }
+
+    private final Supplier<HikariDataSource> dataSource;
+    private final MeterRegistry meterRegistry;
+    private final Duration elevatedWait;
+    private final Duration criticalWait;
+    private final double elevatedUtilization;
+
+    private volatile PressureLevel level = PressureLevel.NORMAL;
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+    private double lastTimeouts;
+
+    public PoolPressureMonitor(Supplier<HikariDataSource> dataSource, MeterRegistry meterRegistry,
+                               Duration elevatedWait, Duration criticalWait, double elevatedUtilization) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.elevatedWait = elevatedWait;
+        this.criticalWait = criticalWait;
+        this.elevatedUtilization = elevatedUtilization;
+        Gauge.builder("app.admission.pressure", this, monitor -> monitor.level().ordinal())
+                .description("Connection pool pressure: 0 normal, 1 elevated, 2 critical")
+                .register(meterRegistry);
+    }
+
+    public PressureLevel level() {
+        return level;
+    }
+
+    public void sample() {
+        HikariDataSource hikari = dataSource.get();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            // Pool not started yet
+            return;
+        }
+        double recentWaitMillis = 0;
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+        if (acquire != null) {
+            long count = acquire.count();
+            double nanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+            if (count > lastAcquireCount) {
+                recentWaitMillis = (nanos - lastAcquireNanos) / (count - lastAcquireCount) / 1_000_000.0;
+            }
+            lastAcquireCount = count;
+            lastAcquireNanos = nanos;
+        }
+        long recentTimeouts = 0;
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").tag("pool", hikari.getPoolName()).counter();
+        if (timeouts != null) {
+            recentTimeouts = (long) (timeouts.count() - lastTimeouts);
+            lastTimeouts = timeouts.count();
+        }
+
+        Sample sample = new Sample(pool.getActiveConnections(), hikari.getMaximumPoolSize(),
+                pool.getThreadsAwaitingConnection(), recentWaitMillis, recentTimeouts);
+        PressureLevel measured = classify(sample);
+        PressureLevel next = measured.ordinal() < level.ordinal()
+                ? PressureLevel.values()[level.ordinal() - 1]
+                : measured;
+        if (next != level) {
+            logger.warn("Connection pool pressure {} -> {} ({})", level, next, sample);
+        }
+        level = next;
+    }
+
+    PressureLevel classify(Sample sample) {
+        if (sample.recentTimeouts() > 0
+                || sample.awaiting() >= sample.max()
+                || sample.recentWaitMillis() >= criticalWait.toMillis()) {
+            return PressureLevel.CRITICAL;
+        }
+        if (sample.recentWaitMillis() >= elevatedWait.toMillis()
+                || (sample.awaiting() > 0 && sample.active() >= sample.max() * elevatedUtilization)) {
+            return PressureLevel.ELEVATED;
+        }
+        return PressureLevel.NORMAL;
+    }
+}
@@ -0,0 +1,21 @@
+package com.springboot.master.admission;
+
+/**
+ * Connection pool pressure as seen by {@link PoolPressureMonitor}
+ */
+public enum PressureLevel {
+    NORMAL,
+    ELEVATED,
+    CRITICAL;
+
+    /**
+     * Whether a request of the given priority is refused at this level
+     */
+    public boolean sheds(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> false;
+            case NORMAL -> this == CRITICAL;
+            case LOW -> this != NORMAL;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.springboot.master.admission;
+
+/**
+ * Shedding priority of an endpoint
+ *
+ * Demonstrates:
+ * - Graceful degradation: under pool pressure, cheap-to-retry or expensive
+ *   endpoints are refused first so core traffic keeps its connections
+ */
+public enum Priority {
+    /** Never shed (health checks, actuator) */
+    CRITICAL,
+    /** Shed only under critical pressure */
+    NORMAL,
+    /** Shed as soon as pressure is elevated (search, export) */
+    LOW
+}
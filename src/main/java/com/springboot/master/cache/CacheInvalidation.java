@@ -0,0 +1,33 @@
+package com.springboot.master.cache;
+
+/**
+ * Cache invalidation message exchanged between nodes
+ *
+ * @param origin    id of the node that changed the entry; receivers ignore their own messages
+ * @param cacheName name of the affected cache
+ * @param key       string form of the evicted key, or {@code null} when the whole cache was cleared
+ */
+public record CacheInvalidation(String origin, String cacheName, String key) {
+
+    private static final char SEPARATOR = '\u001F';
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    /**
+     * Encode as a compact single-line payload for pub/sub transports
+     */
+    public String encode() {
+        return origin + SEPARATOR + cacheName + SEPARATOR + (key == null ? "" : "k" + key);
+    }
+
+    public static CacheInvalidation decode(String payload) {
+        String[] parts = payload.split(String.valueOf(SEPARATOR), 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cache invalidation message: " + payload);
+        }
+        String key = parts[2].isEmpty() ? null : parts[2].substring(1);
+        return new CacheInvalidation(parts[0], parts[1], key);
+    }
+}
@@ -0,0 +1,23 @@
+package com.springboot.master.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport for near-cache invalidation messages
+ *
+ * Demonstrates:
+ * - Strategy interface so the transport can be swapped (Redis pub/sub in
+ *   production, in-process delivery for tests and single-node runs)
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Broadcast an invalidation to every node, including the sender
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Register a listener for invalidations broadcast by any node
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
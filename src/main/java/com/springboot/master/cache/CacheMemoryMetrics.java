@@ -0,0 +1,73 @@
+package com.springboot.master.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Estimated memory footprint per Caffeine cache
+ *
+ * Demonstrates:
+ * - Custom Micrometer MeterBinder
+ * - Sampling instead of walking every entry on each scrape
+ *
+ * Hit, miss, put and eviction counts are already published by Spring Boot's
+ * cache metrics (cache.gets, cache.puts, cache.evictions) as long as the
+ * caches record stats. This binder adds {@code cache.memory.estimated}, which
+ * multiplies the average size of a small entry sample by the estimated
+ * entry count.
+ */
+public class CacheMemoryMetrics implements MeterBinder {
+
+    private static final int SAMPLE_SIZE = 64;
+
+    private final CacheManager cacheManager;
+
+    public CacheMemoryMetrics(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TwoTierCache twoTierCache) {
+                // only the local tier lives on this node's heap
+                cache = twoTierCache.getLocal();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                Gauge.builder("cache.memory.estimated", nativeCache, CacheMemoryMetrics::estimateBytes)
+                        .description("Estimated heap retained by cache entries")
+                        .baseUnit("bytes")
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        }
+    }
+
+    static double estimateBytes(Cache<Object, Object> cache) {
+        long entries = cache.estimatedSize();
+        if (entries == 0) {
+            return 0;
+        }
+        long sampled = 0;
+        long sampledBytes = 0;
+        Iterator<Map.Entry<Object, Object>> iterator = cache.asMap().entrySet().iterator();
+        while (iterator.hasNext() && sampled < SAMPLE_SIZE) {
+            Map.Entry<Object, Object> entry = iterator.next();
+            sampledBytes += ObjectSizeEstimator.estimate(entry.getKey()) + ObjectSizeEstimator.estimate(entry.getValue());
+            sampled++;
+        }
+        if (sampled == 0) {
+            return 0;
+        }
+        return (double) sampledBytes / sampled * entries;
+    }
+}
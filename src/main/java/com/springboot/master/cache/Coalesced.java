@@ -0,0 +1,24 @@
+package com.springboot.master.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent identical calls share one execution
+ *
+ * Demonstrates:
+ * - Single-flight request coalescing declared like @Cacheable
+ *
+ * Calls are identical when they hit the same method with equal arguments.
+ * While one call (the leader) runs, the others wait for and return its
+ * result, or its exception. Only use it on side-effect-free methods whose
+ * result may be shared between callers. See {@link CoalescingAspect}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Coalesced {
+}
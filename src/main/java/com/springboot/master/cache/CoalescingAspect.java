@@ -0,0 +1,117 @@
+package com.springboot.master.cache;
+
+import com.springboot.master.config.AdviceOrder;
+import com.springboot.master.datasource.RoutingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Single-flight execution of {@link Coalesced} methods
+ *
+ * Demonstrates:
+ * - Collapsing a thundering herd of identical cache misses into one load
+ * - Advice ordering: inside the caching interceptor, so cache hits never get
+ *   here, and outside the transaction, so waiting callers hold no connection
+ *   ({@link AdviceOrder#COALESCING})
+ *
+ * The first caller for a key becomes the leader and runs the method. Callers
+ * arriving while it runs wait on its future. The key is removed as soon as
+ * the leader finishes, so nothing is cached here; later callers go through
+ * the cache as usual. Callers that are already inside a transaction bypass
+ * coalescing, since they may need to see their own uncommitted writes, and
+ * so do requests pinned to the primary for read-your-writes, since the
+ * leader's load may be running against a replica.
+ *
+ * Metrics: app.coalescing.loads (leader executions) and
+ * app.coalescing.collapsed (callers that reused a leader's result), both
+ * tagged by method, plus the gauge app.coalescing.in.flight.
+ */
+@Aspect
+@Component
+@Order(AdviceOrder.COALESCING)
+public class CoalescingAspect {
+
+    private record Key(Method method, List<Object> args) {
+    }
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, Counter[]> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public CoalescingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("app.coalescing.in.flight", inFlight, Map::size)
+                .description("Coalesced loads currently running")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(com.springboot.master.cache.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || RoutingContext.isPinnedToPrimary()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Key key = new Key(method, Arrays.asList(joinPoint.getArgs()));
+        Counter[] methodCounters = counters.computeIfAbsent(method, this::registerCounters);
+
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            methodCounters[1].increment();
+            return await(existing);
+        }
+
+        methodCounters[0].increment();
+        try {
+            Object result = joinPoint.proceed();
+            leader.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            leader.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private Counter[] registerCounters(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new Counter[] {
+            Counter.builder("app.coalescing.loads")
+                    .description("Coalesced method executions (leaders)")
+                    .tag("method", name)
+                    .register(meterRegistry),
+            Counter.builder("app.coalescing.collapsed")
+                    .description("Calls that shared an in-flight execution instead of running their own")
+                    .tag("method", name)
+                    .register(meterRegistry)
+        };
+    }
+}
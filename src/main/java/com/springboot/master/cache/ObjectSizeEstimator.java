@@ -0,0 +1,121 @@
+package com.springboot.master.cache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Rough shallow-plus-children heap size estimator for cached values
+ *
+ * Demonstrates:
+ * - Estimating retained size without a java agent
+ * - Special-casing common JDK value types instead of reflecting into them
+ *
+ * The numbers assume a 64-bit JVM with compressed oops (12 byte headers,
+ * 4 byte references, 8 byte alignment). They are meant for trend lines on
+ * actuator, not for exact accounting.
+ */
+public final class ObjectSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int MAX_DEPTH = 4;
+
+    private ObjectSizeEstimator() {
+    }
+
+    public static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            // String object + backing byte[] (compact strings, latin1 assumed)
+            return align(HEADER + 12) + align(16 + s.length());
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum<?>) {
+            // boxed values and enum constants are usually shared; count the reference only
+            return value instanceof Enum<?> ? 0 : 16;
+        }
+        if (value instanceof LocalDateTime) {
+            return 24 + 24 + 24;
+        }
+        if (value instanceof LocalDate) {
+            return 24;
+        }
+        if (value instanceof byte[] bytes) {
+            return align(16 + bytes.length);
+        }
+        if (depth >= MAX_DEPTH) {
+            return 16;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = align(HEADER + 16) + align(16 + (long) REFERENCE * collection.size());
+            for (Object element : collection) {
+                size += estimate(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = align(HEADER + 32) + align(16 + (long) REFERENCE * map.size()) + 32L * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        return estimateFields(value, depth);
+    }
+
+    private static long estimateFields(Object value, int depth) {
+        Class<?> type = value.getClass();
+        if (type.getName().startsWith("java.")) {
+            // do not reflect into JDK internals
+            return 32;
+        }
+        long shallow = HEADER;
+        long children = 0;
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (fieldType.isPrimitive()) {
+                    shallow += primitiveSize(fieldType);
+                    continue;
+                }
+                shallow += REFERENCE;
+                try {
+                    field.setAccessible(true);
+                    children += estimate(field.get(value), depth + 1);
+                } catch (RuntimeException | IllegalAccessException ex) {
+                    children += 16;
+                }
+            }
+        }
+        return align(shallow) + children;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,56 @@
+package com.springboot.master.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub invalidation bus
+ *
+ * Demonstrates:
+ * - Broadcasting near-cache invalidations to every application node
+ * - Fire-and-forget messaging; the L1 TTL bounds staleness if a message is lost
+ */
+public class RedisCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), invalidation.encode());
+        } catch (RuntimeException ex) {
+            // Never fail the write path because the broadcast failed; remote L1 entries expire on their own
+            log.warn("Failed to publish cache invalidation for cache '{}'", invalidation.cacheName(), ex);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                listener.accept(CacheInvalidation.decode(payload));
+            } catch (IllegalArgumentException ex) {
+                log.warn("Ignoring malformed cache invalidation message: {}", payload);
+            }
+        }, topic);
+    }
+}
@@ -0,0 +1,156 @@
+package com.springboot.master.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Two-tier cache: a per-node Caffeine near-cache (L1) in front of a shared cache (L2)
+ *
+ * Demonstrates:
+ * - Decorator over Spring's {@link Cache} abstraction, so @Cacheable/@CacheEvict keep working
+ * - Read-through from L2 into L1
+ * - Cluster-wide invalidation of L1 on every write
+ *
+ * Reads hit local memory when possible and fall back to L2. Every put, evict
+ * or clear is written to L2 first and then broadcast on the
+ * {@link CacheInvalidationBus}, so other nodes drop their L1 copy and reload
+ * the fresh value from L2 on the next read. L1 keys are the string form of
+ * the cache key, which is also what travels in invalidation messages.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache local;
+    private final Cache remote;
+    private final CacheInvalidationBus bus;
+    private final String nodeId;
+
+    public TwoTierCache(String name, CaffeineCache local, Cache remote, CacheInvalidationBus bus, String nodeId) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.bus = bus;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public CaffeineCache getLocal() {
+        return local;
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper localHit = local.get(localKey);
+        if (localHit != null) {
+            return localHit;
+        }
+        ValueWrapper remoteHit = remote.get(key);
+        if (remoteHit != null) {
+            local.put(localKey, remoteHit.get());
+        }
+        return remoteHit;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine computes atomically per key, so concurrent local misses share one L2 lookup
+        return local.get(localKey(key), () -> remote.get(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        broadcast(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.evict(localKey(key));
+        if (existing == null) {
+            broadcast(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.evict(localKey(key));
+        broadcast(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        local.evict(localKey(key));
+        broadcast(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        bus.publish(new CacheInvalidation(nodeId, name, null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        local.invalidate();
+        bus.publish(new CacheInvalidation(nodeId, name, null));
+        return present;
+    }
+
+    /**
+     * Apply an invalidation received from another node to the local tier only
+     */
+    void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        if (invalidation.isClear()) {
+            local.clear();
+        } else {
+            local.evict(invalidation.key());
+        }
+    }
+
+    private void broadcast(Object key) {
+        bus.publish(new CacheInvalidation(nodeId, name, localKey(key)));
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
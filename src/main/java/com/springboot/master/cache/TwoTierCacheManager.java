@@ -0,0 +1,58 @@
+package com.springboot.master.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * CacheManager that pairs a local Caffeine cache with a shared cache per name
+ *
+ * Demonstrates:
+ * - Composing two CacheManagers behind a single drop-in CacheManager
+ * - Subscribing to cluster-wide invalidations once per node
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new LinkedHashMap<>();
+
+    public TwoTierCacheManager(CacheManager localManager, CacheManager remoteManager,
+                               CacheInvalidationBus bus, Collection<String> cacheNames) {
+        for (String name : cacheNames) {
+            Cache local = localManager.getCache(name);
+            Cache remote = remoteManager.getCache(name);
+            if (!(local instanceof CaffeineCache caffeineCache) || remote == null) {
+                throw new IllegalStateException("Cache '" + name + "' must exist in both tiers with a Caffeine local tier");
+            }
+            caches.put(name, new TwoTierCache(name, caffeineCache, remote, bus, nodeId));
+        }
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        TwoTierCache cache = caches.get(invalidation.cacheName());
+        if (cache != null) {
+            cache.onInvalidation(invalidation);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.springboot.master.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.master.admission.AdmissionControlFilter;
+import com.springboot.master.admission.PoolPressureMonitor;
+import com.springboot.master.metrics.ConnectionUsageFilter;
+import com.springboot.master.metrics.ConnectionUsageTrackerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Connection pool admission control and per-endpoint connection metrics
+ *
+ * Demonstrates:
+ * - A BeanPostProcessor that customizes every Hikari pool before it starts
+ * - Scheduled sampling of pool pressure feeding a shedding servlet filter
+ *
+ * The shedding filter sits just after the query statistics filter and ahead
+ * of Spring Security. Disable it with app.admission.enabled=false; the
+ * connection usage metrics stay on.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    private final ObjectProvider<PoolPressureMonitor> poolPressureMonitor;
+
+    public AdmissionControlConfig(ObjectProvider<PoolPressureMonitor> poolPressureMonitor) {
+        this.poolPressureMonitor = poolPressureMonitor;
+    }
+
+    /**
+     * Install the connection usage tracker on every Hikari pool. Spring Boot only
+     * adds its own Micrometer tracker to pools without one, so this one, which
+     * delegates to Micrometer, takes its place.
+     */
+    @Bean
+    public static BeanPostProcessor connectionUsageTrackerInstaller(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(new ConnectionUsageTrackerFactory(
+                            () -> new MicrometerMetricsTrackerFactory(meterRegistry.getObject())));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConnectionUsageFilter> connectionUsageFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConnectionUsageFilter> registration =
+                new FilterRegistrationBean<>(new ConnectionUsageFilter(meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PoolPressureMonitor poolPressureMonitor(ObjectProvider<HikariDataSource> dataSource,
+                                                   MeterRegistry meterRegistry, AdmissionControlProperties properties) {
+        return new PoolPressureMonitor(dataSource::getIfUnique, meterRegistry, properties.getElevatedWait(),
+                properties.getCriticalWait(), properties.getElevatedUtilization());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            PoolPressureMonitor monitor, AdmissionControlProperties properties,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(monitor::level, properties.getPriorities(), properties.getRetryAfter(),
+                        objectMapper, meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${app.admission.sample-interval:PT0.25S}")
+    public void samplePoolPressure() {
+        poolPressureMonitor.ifAvailable(PoolPressureMonitor::sample);
+    }
+}
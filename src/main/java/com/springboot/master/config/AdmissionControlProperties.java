@@ -0,0 +1,97 @@
+package com.springboot.master.config;
+
+import com.springboot.master.admission.Priority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admission control properties bound from {@code app.admission.*}
+ *
+ * Demonstrates:
+ * - Map properties with path keys (bracket notation keeps the slashes)
+ *
+ * Example:
+ * <pre>
+ * app.admission.critical-wait=500ms
+ * app.admission.priorities[/users/search/**]=LOW
+ * app.admission.priorities[/actuator/**]=CRITICAL
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Average pool acquire wait from which low priority requests are shed
+     */
+    private Duration elevatedWait = Duration.ofMillis(50);
+
+    /**
+     * Average pool acquire wait from which everything but critical requests is shed
+     */
+    private Duration criticalWait = Duration.ofMillis(500);
+
+    /**
+     * Share of busy connections that, together with waiting threads, counts as elevated
+     */
+    private double elevatedUtilization = 0.9;
+
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    /**
+     * Shedding priority per Ant path pattern, first match wins
+     */
+    private Map<String, Priority> priorities = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getElevatedWait() {
+        return elevatedWait;
+    }
+
+    public void setElevatedWait(Duration elevatedWait) {
+        this.elevatedWait = elevatedWait;
+    }
+
+    public Duration getCriticalWait() {
+        return criticalWait;
+    }
+
+    public void setCriticalWait(Duration criticalWait) {
+        this.criticalWait = criticalWait;
+    }
+
+    public double getElevatedUtilization() {
+        return elevatedUtilization;
+    }
+
+    public void setElevatedUtilization(double elevatedUtilization) {
+        this.elevatedUtilization = elevatedUtilization;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Map<String, Priority> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(Map<String, Priority> priorities) {
+        this.priorities = priorities;
+    }
+}
@@ -0,0 +1,49 @@
+package com.springboot.master.config;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Order of the AOP advice chain around application beans
+ *
+ * Demonstrates:
+ * - Making advisor ordering explicit instead of relying on defaults, which
+ *   leave caching and transactions at the same (lowest) precedence
+ *
+ * Outermost first: timing, caching, cache-miss marker, cache-load routing,
+ * request coalescing, then transactions and the target method.
+ */
+public final class AdviceOrder {
+
+    /**
+     * Latency timers wrap everything, so they include cache lookups
+     */
+    public static final int TIMING = Ordered.HIGHEST_PRECEDENCE;
+
+    /**
+     * Spring's caching interceptor, see @EnableCaching on the application class
+     */
+    public static final int CACHING = Ordered.LOWEST_PRECEDENCE - 100;
+
+    /**
+     * Runs only when the caching interceptor actually invokes the method (a miss)
+     */
+    public static final int CACHE_MISS_MARKER = CACHING + 10;
+
+    /**
+     * Sends cache misses to the primary; must run before the transaction picks a connection
+     */
+    public static final int CACHE_LOAD_ROUTING = CACHING + 15;
+
+    /**
+     * Single-flight coalescing of cache misses, outside the transaction so
+     * waiting callers do not hold a connection
+     */
+    public static final int COALESCING = CACHING + 20;
+
+    /**
+     * Spring's transaction interceptor keeps its default (innermost)
+     */
+    public static final int TRANSACTION = Ordered.LOWEST_PRECEDENCE;
+
+    private AdviceOrder() {}
+}
@@ -0,0 +1,149 @@
+package com.springboot.master.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache sizing properties bound from {@code app.cache.*}
+ *
+ * Demonstrates:
+ * - Type-safe configuration with @ConfigurationProperties
+ * - Per-cache overrides on top of shared defaults
+ *
+ * Example:
+ * <pre>
+ * app.cache.defaults.maximum-size=1000
+ * app.cache.specs.users.maximum-size=10000
+ * app.cache.specs.users.expire-after-write=10m
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    /**
+     * Settings applied to every cache without an explicit spec
+     */
+    private CacheSpec defaults = new CacheSpec();
+
+    /**
+     * Per-cache settings keyed by cache name
+     */
+    private Map<String, CacheSpec> specs = new LinkedHashMap<>();
+
+    /**
+     * Near-cache settings used when the two-tier cache is enabled
+     */
+    private TwoTier twoTier = new TwoTier();
+
+    public CacheSpec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(CacheSpec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, CacheSpec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, CacheSpec> specs) {
+        this.specs = specs;
+    }
+
+    public TwoTier getTwoTier() {
+        return twoTier;
+    }
+
+    public void setTwoTier(TwoTier twoTier) {
+        this.twoTier = twoTier;
+    }
+
+    /**
+     * Resolve the effective spec for a cache, falling back to the defaults
+     */
+    public CacheSpec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+
+    /**
+     * Size and expiry settings for a single cache
+     */
+    public static class CacheSpec {
+
+        private long maximumSize = 1000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+    /**
+     * Two-tier (local L1 + shared L2) cache settings
+     */
+    public static class TwoTier {
+
+        /**
+         * Shared second-tier implementations
+         */
+        public enum Remote {
+            /** Redis cache with Redis pub/sub invalidation */
+            REDIS,
+            /** In-JVM map with in-process invalidation, for tests and single-node runs */
+            IN_PROCESS
+        }
+
+        private boolean enabled = false;
+        private Remote remote = Remote.REDIS;
+        private Duration localExpireAfterWrite = Duration.ofMinutes(1);
+        private String channel = "app:cache:invalidation";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Remote getRemote() {
+            return remote;
+        }
+
+        public void setRemote(Remote remote) {
+            this.remote = remote;
+        }
+
+        public Duration getLocalExpireAfterWrite() {
+            return localExpireAfterWrite;
+        }
+
+        public void setLocalExpireAfterWrite(Duration localExpireAfterWrite) {
+            this.localExpireAfterWrite = localExpireAfterWrite;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.springboot.master.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springboot.master.cache.CacheMemoryMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 /**
@@ -17,18 +27,52 @@ import java.util.concurrent.Executor;
  * - Cache configuration
  * - Async configuration
  * - Thread pool configuration
+ * - Platform vs virtual thread execution
  */
 @Configuration
 @EnableAsync
+@EnableConfigurationProperties(AppCacheProperties.class)
 public class AppConfig {
 
+    /**
+     * Cache names known to the application
+     */
+    public static final String[] CACHE_NAMES = {"users", "usersJson", "usersByRole", "posts"};
+
     /**
      * Cache Manager configuration
-     * Demonstrates: Cache configuration for development
+     * Demonstrates: Bounded Caffeine caches (W-TinyLFU eviction) with time-based
+     * expiry and statistics recording, so Spring Boot publishes hit/miss/eviction
+     * metrics for every cache on actuator.
+     * Replaced by {@link TwoTierCacheConfig} when app.cache.two-tier.enabled=true
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.two-tier", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public CacheManager cacheManager(AppCacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; unknown names fail fast instead of growing unbounded maps
+        cacheManager.setCacheNames(List.of());
+        for (String name : CACHE_NAMES) {
+            cacheManager.registerCustomCache(name, buildCaffeineCache(cacheProperties.specFor(name).getMaximumSize(),
+                    cacheProperties.specFor(name).getExpireAfterWrite()));
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Estimated memory per cache, published as cache.memory.estimated
      */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("users", "posts");
+    public CacheMemoryMetrics cacheMemoryMetrics(CacheManager cacheManager) {
+        return new CacheMemoryMetrics(cacheManager);
+    }
+
+    static Cache<Object, Object> buildCaffeineCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
     }
 
     /**
@@ -36,6 +80,7 @@ public class AppConfig {
      * Demonstrates: Thread pool configuration for async operations
      */
     @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
@@ -45,4 +90,19 @@ public class AppConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Virtual-thread Async Task Executor, active with spring.threads.virtual.enabled=true
+     * Demonstrates: One virtual thread per task instead of a fixed pool. The concurrency
+     * limit keeps @Async fan-out from outrunning the JDBC connection pool, which becomes
+     * the real bound once threads are cheap.
+     */
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-vt-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(100);
+        return executor;
+    }
 }
@@ -0,0 +1,119 @@
+package com.springboot.master.config;
+
+import com.springboot.master.datasource.ReadWriteRoutingDataSource;
+import com.springboot.master.datasource.ReadYourWritesFilter;
+import com.springboot.master.datasource.ReplicaPool;
+import com.springboot.master.metrics.ConnectionUsageTrackerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write DataSource routing configuration
+ *
+ * Demonstrates:
+ * - Replacing the auto-configured DataSource with a routing DataSource
+ *   behind LazyConnectionDataSourceProxy
+ * - Building extra Hikari pools with Micrometer and connection usage metrics by hand
+ * - Scheduled replica health checks and a read-your-writes servlet filter
+ *
+ * Enabled with app.datasource.routing.enabled=true. spring.datasource.* and
+ * spring.datasource.hikari.* keep configuring the primary; replicas are
+ * listed under app.datasource.routing.replicas. With no healthy replica
+ * every transaction goes to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    private final ObjectProvider<ReplicaPool> replicaPool;
+
+    public DataSourceRoutingConfig(ObjectProvider<ReplicaPool> replicaPool) {
+        this.replicaPool = replicaPool;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(DataSourceRoutingProperties routing, DataSourceProperties primary,
+                                   HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routing.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername());
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword());
+            dataSource.setDriverClassName(primary.determineDriverClassName());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            // Same driver settings as the primary, e.g. useCursorFetch for streamed exports
+            dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            // Guards against a misrouted write reaching a replica that accepts them
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new ConnectionUsageTrackerFactory(
+                    () -> new MicrometerMetricsTrackerFactory(meterRegistry)));
+            replicas.add(dataSource);
+        }
+        return new ReplicaPool(replicas, routing.getValidationTimeout(), routing.getMaxReplicaLag(), routing.getLagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaPool, meterRegistry));
+    }
+
+    /**
+     * Return connections to their pool at the end of each transaction. By default
+     * Hibernate keeps the first connection for the whole session, which with
+     * open-in-view would reuse a replica connection for a later write transaction.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer routingHibernateCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    /**
+     * Runs after Spring Security so authenticated clients are pinned by principal
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(DataSourceRoutingProperties routing) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(routing.getReadYourWritesWindow()));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.setEnabled(!routing.getReadYourWritesWindow().isZero());
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:PT5S}")
+    public void checkReplicaHealth() {
+        replicaPool.ifAvailable(ReplicaPool::checkHealth);
+    }
+}
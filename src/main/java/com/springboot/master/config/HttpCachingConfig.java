@@ -0,0 +1,40 @@
+package com.springboot.master.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * HTTP caching configuration
+ *
+ * Demonstrates:
+ * - Weak ETags for list responses with ShallowEtagHeaderFilter
+ * - Limiting a buffering filter to the endpoints that benefit from it
+ *
+ * The filter buffers the response and hashes it, so it saves bandwidth (a
+ * matching If-None-Match gets an empty 304) but not server work. Single users
+ * carry their own strong ETag (see UserController#getUserById) and the NDJSON
+ * export must not be buffered, so neither is mapped here. Patterns are
+ * relative to the context path.
+ */
+@Configuration
+public class HttpCachingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        // Weak: lists are semantically equivalent, not byte-for-byte guaranteed (e.g. gzip)
+        filter.setWriteWeakETag(true);
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(
+                "/users",
+                "/users/search",
+                "/users/active",
+                "/users/role/*",
+                "/posts",
+                "/posts/user/*");
+        return registration;
+    }
+}
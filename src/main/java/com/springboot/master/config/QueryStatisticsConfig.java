@@ -0,0 +1,46 @@
+package com.springboot.master.config;
+
+import com.springboot.master.metrics.QueryStatisticsFilter;
+import com.springboot.master.metrics.QueryStatisticsIntegrator;
+import com.springboot.master.metrics.QueryStatisticsSessionListener;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Per-request Hibernate statistics configuration
+ *
+ * Demonstrates:
+ * - Customizing Hibernate bootstrap from Spring Boot with HibernatePropertiesCustomizer
+ * - Registering a servlet filter conditionally with FilterRegistrationBean
+ *
+ * The counters are always collected (a thread-local increment per statement or
+ * load) so tests can assert query budgets; only the reporting filter is optional.
+ */
+@Configuration
+public class QueryStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernateCustomizer() {
+        return properties -> {
+            properties.put("hibernate.session.events.auto", QueryStatisticsSessionListener.class.getName());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new QueryStatisticsIntegrator()));
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.query-stats", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<QueryStatisticsFilter> queryStatisticsFilter() {
+        FilterRegistrationBean<QueryStatisticsFilter> registration = new FilterRegistrationBean<>(new QueryStatisticsFilter());
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,64 @@
+package com.springboot.master.config;
+
+import com.springboot.master.ratelimit.FailedAuthenticationLimiter;
+import com.springboot.master.ratelimit.GcraRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Per-client rate limiting configuration
+ *
+ * Demonstrates:
+ * - Building the limiter from configuration properties
+ * - Scheduled eviction of idle buckets
+ *
+ * The limiters are added to the security filter chain by {@link SecurityConfig}
+ * when these beans exist. Disable with app.rate-limit.enabled=false.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitConfig.class);
+
+    private final ObjectProvider<GcraRateLimiter> rateLimiter;
+    private final ObjectProvider<FailedAuthenticationLimiter> failedAuthenticationLimiter;
+    private final RateLimitProperties properties;
+
+    public RateLimitConfig(ObjectProvider<GcraRateLimiter> rateLimiter,
+                           ObjectProvider<FailedAuthenticationLimiter> failedAuthenticationLimiter,
+                           RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.failedAuthenticationLimiter = failedAuthenticationLimiter;
+        this.properties = properties;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public GcraRateLimiter rateLimiter(MeterRegistry meterRegistry) {
+        return new GcraRateLimiter(properties.toRules(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FailedAuthenticationLimiter failedAuthenticationLimiter(MeterRegistry meterRegistry) {
+        return new FailedAuthenticationLimiter(properties.toFailedAuthenticationRule(), meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        rateLimiter.ifAvailable(limiter -> {
+            int evicted = limiter.evictIdle(properties.getIdleTimeout().toNanos());
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        });
+        failedAuthenticationLimiter.ifAvailable(limiter ->
+            limiter.evictIdle(properties.getIdleTimeout().toNanos()));
+    }
+}
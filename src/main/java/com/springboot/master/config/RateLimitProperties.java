@@ -0,0 +1,150 @@
+package com.springboot.master.config;
+
+import com.springboot.master.ratelimit.RateLimitRule;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit properties bound from {@code app.rate-limit.*}
+ *
+ * Demonstrates:
+ * - Ordered list properties mapped onto immutable domain records
+ *
+ * Example:
+ * <pre>
+ * app.rate-limit.routes[0].name=search
+ * app.rate-limit.routes[0].pattern=/users/search/**
+ * app.rate-limit.routes[0].rate=5
+ * app.rate-limit.routes[0].burst=10
+ * app.rate-limit.failed-authentication.rate=0.2
+ * app.rate-limit.failed-authentication.burst=10
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Buckets that have been full this long are evicted
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Routes in match order, first match wins; unmatched paths are not limited
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * Budget for requests per remote address that fail authentication; the
+     * pattern and method are ignored
+     */
+    private Route failedAuthentication = defaultFailedAuthentication();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public Route getFailedAuthentication() {
+        return failedAuthentication;
+    }
+
+    public void setFailedAuthentication(Route failedAuthentication) {
+        this.failedAuthentication = failedAuthentication;
+    }
+
+    public RateLimitRule toFailedAuthenticationRule() {
+        return new RateLimitRule(failedAuthentication.getName(), "/**", null,
+                failedAuthentication.getRate(), failedAuthentication.getBurst());
+    }
+
+    private static Route defaultFailedAuthentication() {
+        Route route = new Route();
+        route.setName("failed-authentication");
+        route.setRate(0.2);
+        route.setBurst(10);
+        return route;
+    }
+
+    public List<RateLimitRule> toRules() {
+        return routes.stream()
+                .map(route -> new RateLimitRule(route.getName(), route.getPattern(), route.getMethod(),
+                        route.getRate(), route.getBurst()))
+                .toList();
+    }
+
+    /**
+     * Limit for one route
+     */
+    public static class Route {
+
+        private String name;
+        private String pattern;
+        private String method;
+        private double rate = 10;
+        private int burst = 20;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.springboot.master.config;
 
+import com.springboot.master.ratelimit.FailedAuthenticationFilter;
+import com.springboot.master.ratelimit.FailedAuthenticationLimiter;
+import com.springboot.master.ratelimit.GcraRateLimiter;
+import com.springboot.master.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -9,6 +15,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * Security Configuration
@@ -20,6 +27,7 @@ import org.springframework.security.web.SecurityFilterChain;
  * - Password encoding
  * - HTTP security configuration
  * - CORS handling
+ * - Custom filters in the security chain (rate limiting)
  */
 @Configuration
 @EnableWebSecurity
@@ -30,7 +38,8 @@ public class SecurityConfig {
      * Demonstrates: Security filter chain, endpoint permissions, CORS
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ObjectProvider<GcraRateLimiter> rateLimiter,
+                                           ObjectProvider<FailedAuthenticationLimiter> failedAuthenticationLimiter) throws Exception {
         http
             // Disable CSRF for REST APIs (enable for web apps with forms)
             .csrf(csrf -> csrf.disable())            
@@ -41,9 +50,12 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints (both with and without API prefix for testing)
                 .requestMatchers("/api/v1/users/health", "/users/health", "/h2-console/**", "/swagger-ui/**", "/api-docs/**").permitAll()
+                // Sign-up forms check availability before the user has an account; rate limited per IP
+                .requestMatchers(HttpMethod.GET, "/api/v1/users/availability", "/users/availability").permitAll()
                 
                 // Admin endpoints
                 .requestMatchers("/api/v1/actuator/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PUT, "/api/v1/users/*/role", "/users/*/role").hasRole("ADMIN")
                 
                 // Authenticated endpoints
                 .requestMatchers("/api/v1/users/**").authenticated()
@@ -63,6 +75,14 @@ public class SecurityConfig {
                 .frameOptions(frameOptions -> frameOptions.disable())
             );
 
+        // Bad credentials never reach the principal-keyed limiter; throttle them per IP before hashing
+        failedAuthenticationLimiter.ifAvailable(limiter ->
+            http.addFilterBefore(new FailedAuthenticationFilter(limiter), BasicAuthenticationFilter.class));
+
+        // Per-client rate limiting, after authentication so buckets are keyed by principal
+        rateLimiter.ifAvailable(limiter ->
+            http.addFilterAfter(new RateLimitFilter(limiter), BasicAuthenticationFilter.class));
+
         return http.build();
     }
 
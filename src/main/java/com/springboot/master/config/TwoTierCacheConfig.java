@@ -0,0 +1,123 @@
+package com.springboot.master.config;
+
+import com.springboot.master.cache.CacheInvalidationBus;
+import com.springboot.master.cache.InProcessCacheInvalidationBus;
+import com.springboot.master.cache.RedisCacheInvalidationBus;
+import com.springboot.master.cache.TwoTierCache;
+import com.springboot.master.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+/**
+ * Two-tier cache configuration
+ *
+ * Demonstrates:
+ * - Conditional configuration with @ConditionalOnProperty
+ * - Local Caffeine near-cache (L1) in front of a shared cache (L2)
+ * - Cross-node invalidation over Redis pub/sub
+ *
+ * Enabled with app.cache.two-tier.enabled=true. With
+ * app.cache.two-tier.remote=in-process the shared tier and the invalidation
+ * bus are in-JVM stand-ins, which keeps the setup testable without Redis.
+ * The bus beans are methods of this class rather than nested configurations,
+ * which component scanning would register even with two-tier caching disabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.two-tier", name = "enabled", havingValue = "true")
+public class TwoTierCacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(AppCacheProperties cacheProperties,
+                                     CacheInvalidationBus invalidationBus,
+                                     ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        List<String> cacheNames = List.of(AppConfig.CACHE_NAMES);
+        CacheManager remote = cacheProperties.getTwoTier().getRemote() == AppCacheProperties.TwoTier.Remote.REDIS
+                ? redisCacheManager(cacheProperties, redisConnectionFactory.getObject())
+                : inProcessCacheManager(cacheProperties);
+        return new TwoTierCacheManager(localCacheManager(cacheProperties), remote, invalidationBus, cacheNames);
+    }
+
+    /**
+     * Publish Caffeine statistics of the local tier under the usual cache.* metric names
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getLocal().getNativeCache(), cache.getName(), tags);
+    }
+
+    private static CaffeineCacheManager localCacheManager(AppCacheProperties cacheProperties) {
+        CaffeineCacheManager local = new CaffeineCacheManager();
+        local.setCacheNames(List.of());
+        for (String name : AppConfig.CACHE_NAMES) {
+            local.registerCustomCache(name, AppConfig.buildCaffeineCache(
+                    cacheProperties.specFor(name).getMaximumSize(),
+                    cacheProperties.getTwoTier().getLocalExpireAfterWrite()));
+        }
+        return local;
+    }
+
+    private static CaffeineCacheManager inProcessCacheManager(AppCacheProperties cacheProperties) {
+        CaffeineCacheManager remote = new CaffeineCacheManager();
+        remote.setCacheNames(List.of());
+        for (String name : AppConfig.CACHE_NAMES) {
+            AppCacheProperties.CacheSpec spec = cacheProperties.specFor(name);
+            remote.registerCustomCache(name, AppConfig.buildCaffeineCache(spec.getMaximumSize(), spec.getExpireAfterWrite()));
+        }
+        return remote;
+    }
+
+    private static RedisCacheManager redisCacheManager(AppCacheProperties cacheProperties,
+                                                       RedisConnectionFactory connectionFactory) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .disableCreateOnMissingCache();
+        for (String name : AppConfig.CACHE_NAMES) {
+            builder.withCacheConfiguration(name, RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(cacheProperties.specFor(name).getExpireAfterWrite()));
+        }
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
+    }
+
+    /**
+     * Redis-backed invalidation bus
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.two-tier", name = "remote", havingValue = "redis", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.two-tier", name = "remote", havingValue = "redis", matchIfMissing = true)
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                                     RedisMessageListenerContainer cacheInvalidationListenerContainer,
+                                                     AppCacheProperties cacheProperties) {
+        return new RedisCacheInvalidationBus(redisTemplate, cacheInvalidationListenerContainer,
+                cacheProperties.getTwoTier().getChannel());
+    }
+
+    /**
+     * In-process invalidation bus for tests and single-node runs
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.two-tier", name = "remote", havingValue = "in-process")
+    public CacheInvalidationBus inProcessCacheInvalidationBus() {
+        return new InProcessCacheInvalidationBus();
+    }
+}
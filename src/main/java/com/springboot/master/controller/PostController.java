@@ -0,0 +1,119 @@
+package com.springboot.master.controller;
+
+import com.springboot.master.dto.CreatePostDto;
+import com.springboot.master.dto.PostResponseDto;
+import com.springboot.master.service.PostService;
+import com.springboot.master.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Post Controller - REST API endpoints
+ * 
+ * Demonstrates:
+ * - A read-heavy feed endpoint backed by a cache
+ * - Sub-resource actions (publish) as POST endpoints
+ * - Capping client-supplied page sizes
+ */
+@RestController
+@RequestMapping("/posts")
+@Tag(name = "Post Management", description = "APIs for managing posts and reading the published feed")
+public class PostController {
+
+    private final PostService postService;
+
+    @Autowired
+    public PostController(PostService postService) {
+        this.postService = postService;
+    }
+
+    /**
+     * Create a new post
+     * Demonstrates: POST mapping, request body validation, HTTP status codes
+     */
+    @PostMapping
+    @Operation(summary = "Create a new post", description = "Creates a draft, or a published post when published=true")
+    public ResponseEntity<PostResponseDto> createPost(@Valid @RequestBody CreatePostDto createPostDto) {
+        PostResponseDto createdPost = postService.createPost(createPostDto);
+        return new ResponseEntity<>(createdPost, HttpStatus.CREATED);
+    }
+
+    /**
+     * Get the published feed
+     * Demonstrates: Pagination over a cached read model
+     */
+    @GetMapping
+    @Operation(summary = "Get published feed", description = "Retrieves published posts newest first, with their authors")
+    public ResponseEntity<Page<PostResponseDto>> getPublishedFeed(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        // PageRequest rejects a negative page or a size below 1, which would surface as a 500
+        Page<PostResponseDto> posts = postService.getPublishedFeed(Math.max(page, 0),
+                Math.max(1, Math.min(size, UserService.MAX_PAGE_SIZE)));
+        return ResponseEntity.ok(posts);
+    }
+
+    /**
+     * Get post by ID
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get post by ID", description = "Retrieves a post with its author")
+    public ResponseEntity<PostResponseDto> getPostById(
+            @Parameter(description = "Post ID") @PathVariable Long id) {
+        return ResponseEntity.ok(postService.getPostById(id));
+    }
+
+    /**
+     * Get published posts of one author
+     */
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get posts by author", description = "Retrieves an author's published posts newest first")
+    public ResponseEntity<Page<PostResponseDto>> getPostsByAuthor(
+            @Parameter(description = "Author (user) ID") @PathVariable Long userId,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        Page<PostResponseDto> posts = postService.getPublishedPostsByAuthor(userId, Math.max(page, 0),
+                Math.max(1, Math.min(size, UserService.MAX_PAGE_SIZE)));
+        return ResponseEntity.ok(posts);
+    }
+
+    /**
+     * Update post
+     * Demonstrates: PUT mapping, path variables, request body
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Update post", description = "Updates a post's title, content and optionally its published flag")
+    public ResponseEntity<PostResponseDto> updatePost(
+            @Parameter(description = "Post ID") @PathVariable Long id,
+            @Valid @RequestBody CreatePostDto updateDto) {
+        return ResponseEntity.ok(postService.updatePost(id, updateDto));
+    }
+
+    /**
+     * Publish a draft
+     */
+    @PostMapping("/{id}/publish")
+    @Operation(summary = "Publish post", description = "Marks a post as published so it appears in the feed")
+    public ResponseEntity<PostResponseDto> publishPost(
+            @Parameter(description = "Post ID") @PathVariable Long id) {
+        return ResponseEntity.ok(postService.publishPost(id));
+    }
+
+    /**
+     * Delete post
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete post", description = "Deletes a post")
+    public ResponseEntity<Void> deletePost(
+            @Parameter(description = "Post ID") @PathVariable Long id) {
+        postService.deletePost(id);
+        return ResponseEntity.noContent().build();
+    }
+}
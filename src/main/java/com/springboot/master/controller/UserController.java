@@ -1,11 +1,21 @@
 package com.springboot.master.controller;
 
+import com.springboot.master.dto.BatchCreateResponseDto;
 import com.springboot.master.dto.CreateUserDto;
+import com.springboot.master.dto.CursorPage;
+import com.springboot.master.dto.UserPatchDto;
 import com.springboot.master.dto.UserResponseDto;
 import com.springboot.master.entity.UserRole;
+import com.springboot.master.exception.BadRequestException;
+import com.springboot.master.service.ETags;
+import com.springboot.master.service.UserAvailabilityService;
+import com.springboot.master.service.UserJsonCache;
 import com.springboot.master.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +23,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * User Controller - REST API endpoints
@@ -31,17 +46,32 @@ import java.util.List;
  * - HTTP status codes
  * - API documentation with Swagger
  * - Pagination and sorting
+ * - Opt-in keyset (cursor) pagination selected by request parameter
+ * - Streaming responses with StreamingResponseBody
+ * - Conditional GETs with ETag / If-None-Match
+ * - Conditional updates with If-Match for lost-update protection
+ * - Partial updates with JSON Merge Patch
  */
 @RestController
 @RequestMapping("/users")
 @Tag(name = "User Management", description = "APIs for managing users")
 public class UserController {
 
+    /**
+     * Media type of JSON Merge Patch documents
+     */
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final UserService userService;
+    private final UserJsonCache userJsonCache;
+    private final UserAvailabilityService userAvailabilityService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserJsonCache userJsonCache,
+                          UserAvailabilityService userAvailabilityService) {
         this.userService = userService;
+        this.userJsonCache = userJsonCache;
+        this.userAvailabilityService = userAvailabilityService;
     }
 
     /**
@@ -55,16 +85,46 @@ public class UserController {
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many users in one request
+     * Demonstrates: Bulk endpoints with per-item results.
+     * Items are validated individually so one bad row does not reject the whole batch.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create users in bulk", description = "Creates up to 10,000 users in one call and reports the outcome of every item")
+    public ResponseEntity<BatchCreateResponseDto> createUsers(@RequestBody List<CreateUserDto> createUserDtos) {
+        BatchCreateResponseDto response = userService.createUsers(createUserDtos);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get user by ID
-     * Demonstrates: GET mapping, path variables, exception handling
+     * Demonstrates: GET mapping, path variables, exception handling, conditional GET,
+     * pre-serialized responses.
+     * The body comes from the "usersJson" cache as ready-made bytes (gzip when the
+     * client accepts it and a compressed variant exists), so a hit is a plain copy to
+     * the output stream. With a strong ETag on the ResponseEntity, Spring MVC answers
+     * a matching If-None-Match with 304 and writes no body at all.
      */
-    @GetMapping("/{id}")
-    @Operation(summary = "Get user by ID", description = "Retrieves a user by their unique identifier")
-    public ResponseEntity<UserResponseDto> getUserById(
-            @Parameter(description = "User ID") @PathVariable Long id) {
-        UserResponseDto user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get user by ID", description = "Retrieves a user by their unique identifier; supports If-None-Match",
+               responses = @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = UserResponseDto.class))))
+    public ResponseEntity<byte[]> getUserById(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        UserJsonCache.Entry user = userJsonCache.getUserJson(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (user.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response
+                    .eTag(user.gzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(user.gzip());
+        }
+        return response
+                .eTag(user.eTag())
+                .body(user.json());
     }
 
     /**
@@ -86,27 +146,70 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get all users with keyset pagination
+     * Demonstrates: Request mapping narrowed by params, opaque cursors.
+     * Selected when a cursor parameter is present; pass an empty cursor for the first page.
+     */
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get all users (cursor mode)", description = "Retrieves users newest first using keyset pagination; no total count is computed")
+    public ResponseEntity<CursorPage<UserResponseDto>> getAllUsersByCursor(
+            @Parameter(description = "Cursor from the previous page, empty for the first page") @RequestParam String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        CursorPage<UserResponseDto> users = userService.getAllUsers(cursor, size);
+        return ResponseEntity.ok(users);
+    }
+
     /**
      * Get users by role
-     * Demonstrates: Request parameters, enum handling
+     * Demonstrates: Request parameters, enum handling, cached keyset pages
      */
     @GetMapping("/role/{role}")
-    @Operation(summary = "Get users by role", description = "Retrieves users with a specific role")
-    public ResponseEntity<List<UserResponseDto>> getUsersByRole(
-            @Parameter(description = "User role") @PathVariable UserRole role) {
-        List<UserResponseDto> users = userService.getUsersByRole(role);
+    @Operation(summary = "Get users by role", description = "Retrieves users with a specific role newest first using keyset pagination")
+    public ResponseEntity<CursorPage<UserResponseDto>> getUsersByRole(
+            @Parameter(description = "User role") @PathVariable UserRole role,
+            @Parameter(description = "Cursor from the previous page, empty for the first page") @RequestParam(defaultValue = "") String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserResponseDto> users = userService.getUsersByRole(role, cursor, size);
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Count users by role
+     * Demonstrates: Counts served from a maintained counter
+     */
+    @GetMapping("/role/{role}/count")
+    @Operation(summary = "Count users by role", description = "Returns the number of users with a specific role")
+    public ResponseEntity<Map<String, Object>> countUsersByRole(
+            @Parameter(description = "User role") @PathVariable UserRole role) {
+        return ResponseEntity.ok(Map.of("role", role, "count", userService.countUsersByRole(role)));
+    }
+
+    /**
+     * Change a user's role
+     * Demonstrates: PUT on a sub-resource, admin-only endpoint
+     */
+    @PutMapping("/{id}/role")
+    @Operation(summary = "Change user role", description = "Assigns a new role to a user (admin only)")
+    public ResponseEntity<UserResponseDto> changeUserRole(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @Parameter(description = "New role") @RequestParam UserRole role) {
+        return ResponseEntity.ok(userService.changeUserRole(id, role));
+    }
+
     /**
      * Search users by name
-     * Demonstrates: Query parameters, search functionality
+     * Demonstrates: Query parameters, search functionality, pagination
      */
     @GetMapping("/search")
-    @Operation(summary = "Search users by name", description = "Searches users by first name or last name")
-    public ResponseEntity<List<UserResponseDto>> searchUsers(
-            @Parameter(description = "Search term") @RequestParam String name) {
-        List<UserResponseDto> users = userService.searchUsersByName(name);
+    @Operation(summary = "Search users by name", description = "Searches users by first name or last name, best matches first")
+    public ResponseEntity<Page<UserResponseDto>> searchUsers(
+            @Parameter(description = "Search term") @RequestParam String name,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        // PageRequest rejects a negative page or a size below 1, which would surface as a 500
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, UserService.MAX_PAGE_SIZE)));
+        Page<UserResponseDto> users = userService.searchUsersByName(name, pageable);
         return ResponseEntity.ok(users);
     }
 
@@ -125,17 +228,70 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get active users with keyset pagination
+     * Demonstrates: Cursor mode for filtered listings
+     */
+    @GetMapping(value = "/active", params = "cursor")
+    @Operation(summary = "Get active users (cursor mode)", description = "Retrieves active users newest first using keyset pagination")
+    public ResponseEntity<CursorPage<UserResponseDto>> getActiveUsersByCursor(
+            @Parameter(description = "Cursor from the previous page, empty for the first page") @RequestParam String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        CursorPage<UserResponseDto> users = userService.getActiveUsers(cursor, size);
+        return ResponseEntity.ok(users);
+    }
+
+    /**
+     * Export all users as NDJSON
+     * Demonstrates: StreamingResponseBody, constant-memory exports.
+     * One JSON object per line, written while rows are read from the database.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export users", description = "Streams every user as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .body(body);
+    }
+
     /**
      * Update user
-     * Demonstrates: PUT mapping, path variables, request body
+     * Demonstrates: PUT mapping, path variables, request body, conditional
+     * updates with If-Match. Send the ETag from a previous GET to get a 412
+     * instead of overwriting someone else's change; the response carries the
+     * new ETag for the next conditional update.
      */
     @PutMapping("/{id}")
-    @Operation(summary = "Update user", description = "Updates an existing user's information")
+    @Operation(summary = "Update user", description = "Updates an existing user's information; honours If-Match")
     public ResponseEntity<UserResponseDto> updateUser(
             @Parameter(description = "User ID") @PathVariable Long id,
-            @Valid @RequestBody CreateUserDto updateDto) {
-        UserResponseDto updatedUser = userService.updateUser(id, updateDto);
-        return ResponseEntity.ok(updatedUser);
+            @Valid @RequestBody CreateUserDto updateDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.expectedVersion(ifMatch, id);
+        UserResponseDto updatedUser = userService.updateUser(id, updateDto, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updatedUser))
+                .body(updatedUser);
+    }
+
+    /**
+     * Partially update user
+     * Demonstrates: PATCH mapping with JSON Merge Patch (RFC 7396). Only the
+     * members sent are changed; If-Match works as for PUT.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch user", description = "Applies a JSON Merge Patch to username, email, names or age; honours If-Match")
+    public ResponseEntity<UserResponseDto> patchUser(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @Valid @RequestBody UserPatchDto patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.expectedVersion(ifMatch, id);
+        UserResponseDto patchedUser = userService.patchUser(id, patch, expectedVersion).user();
+        return ResponseEntity.ok()
+                .eTag(ETags.of(patchedUser))
+                .body(patchedUser);
     }
 
     /**
@@ -150,6 +306,31 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Check whether a username and/or email is still free
+     * Demonstrates: Public lookup endpoint answered from an in-memory Bloom
+     * filter when the value was never used, and from the database otherwise
+     */
+    @GetMapping("/availability")
+    @Operation(summary = "Check availability", description = "Reports whether a username and/or email is still available")
+    public ResponseEntity<Map<String, Object>> checkAvailability(
+            @Parameter(description = "Username to check") @RequestParam(required = false) String username,
+            @Parameter(description = "Email to check") @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            throw new BadRequestException("Provide a username and/or an email to check");
+        }
+        Map<String, Object> availability = new LinkedHashMap<>();
+        if (username != null && !username.isBlank()) {
+            availability.put("username", username);
+            availability.put("usernameAvailable", !userAvailabilityService.isUsernameTaken(username));
+        }
+        if (email != null && !email.isBlank()) {
+            availability.put("email", email);
+            availability.put("emailAvailable", !userAvailabilityService.isEmailTaken(email));
+        }
+        return ResponseEntity.ok(availability);
+    }
+
     /**
      * Health check endpoint for users
      * Demonstrates: Simple GET endpoint, basic response
@@ -0,0 +1,39 @@
+package com.springboot.master.datasource;
+
+import com.springboot.master.config.AdviceOrder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads @Cacheable misses from the primary
+ *
+ * Demonstrates:
+ * - Advice placed inside Spring's caching interceptor, so it only runs when
+ *   the method is invoked to populate the cache, never on a hit
+ * - Marking the thread before the transaction interceptor picks a connection
+ *
+ * Entries are evicted after commit on the primary. A replica within
+ * max-replica-lag may not have that write yet, and caching its row would keep
+ * the stale value for the full TTL instead of the replica lag. Cache hits,
+ * which are most reads of these methods, are unaffected.
+ */
+@Aspect
+@Component
+@Order(AdviceOrder.CACHE_LOAD_ROUTING)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class CacheLoadRoutingAspect {
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object loadFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = RoutingContext.beginCacheLoad();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RoutingContext.endCacheLoad(previous);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.springboot.master.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource that sends read-only transactions to a replica and everything else to the primary
+ *
+ * Demonstrates:
+ * - Routing on the transaction's readOnly flag
+ * - Falling back to the primary when no replica is healthy, the thread is
+ *   pinned for read-your-writes or it is loading a cache entry ({@link RoutingContext})
+ * - Routing decisions exported as app.datasource.routed{target,reason}
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager
+ * opens the connection before the readOnly flag is published to
+ * TransactionSynchronizationManager, and the proxy defers the choice until
+ * the first statement runs.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        for (String reason : new String[] {"write", "pinned", "cache-load", "no-healthy-replica"}) {
+            routed.put(reason, counter(meterRegistry, PRIMARY, reason));
+        }
+        for (ReplicaPool.Replica replica : replicas.getReplicas()) {
+            routed.put(replica.name(), counter(meterRegistry, replica.name(), "read-only"));
+            Gauge.builder("app.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("1 when the replica passes its health check")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    DataSource route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                RoutingContext.markWrite();
+            }
+            routed.get("write").increment();
+            return primary;
+        }
+        if (RoutingContext.isCacheLoad()) {
+            routed.get("cache-load").increment();
+            return primary;
+        }
+        if (RoutingContext.isPinnedToPrimary()) {
+            routed.get("pinned").increment();
+            return primary;
+        }
+        ReplicaPool.Replica replica = replicas.select();
+        if (replica == null) {
+            routed.get("no-healthy-replica").increment();
+            return primary;
+        }
+        routed.get(replica.name()).increment();
+        return replica.dataSource();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("app.datasource.routed")
+                .description("Connections handed out by the read/write routing DataSource")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.springboot.master.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+
+/**
+ * Pins a client's reads to the primary for a short window after it writes
+ *
+ * Demonstrates:
+ * - Read-your-writes consistency on top of asynchronous replication
+ * - Expiring per-client state with a bounded Caffeine cache
+ *
+ * Clients are identified by authenticated principal, or by remote address
+ * for anonymous calls, so the filter must run after Spring Security. The
+ * window should cover typical replication lag. State is per node; behind a
+ * load balancer without sticky sessions a client may still read from a
+ * replica on another node within the window.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        RoutingContext.begin(recentWriters.getIfPresent(client) != null);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (RoutingContext.hasWritten()) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+            RoutingContext.clear();
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,151 @@
+package com.springboot.master.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read replicas with health tracking and load-aware selection
+ *
+ * Demonstrates:
+ * - Periodic health checks (connection validation plus optional replication lag)
+ * - Choosing the least loaded healthy replica from Hikari's pool statistics
+ *   instead of plain round robin, so a slow replica that holds its
+ *   connections longer receives less traffic
+ *
+ * Health is only changed by {@link #checkHealth()}; the hot path reads a
+ * volatile flag and the pool MXBean counters, both lock-free.
+ */
+public class ReplicaPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private final List<Replica> replicas;
+    private final Duration validationTimeout;
+    private final Duration maxLag;
+    private final String lagQuery;
+
+    public ReplicaPool(List<HikariDataSource> dataSources, Duration validationTimeout, Duration maxLag, String lagQuery) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.validationTimeout = validationTimeout;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Least loaded healthy replica, or null when none is healthy
+     */
+    public Replica select() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+        // Random starting point spreads ties instead of always favouring the first replica
+        int offset = count == 1 ? 0 : ThreadLocalRandom.current().nextInt(count);
+        Replica best = null;
+        double bestLoad = Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            Replica candidate = replicas.get((offset + i) % count);
+            if (!candidate.healthy) {
+                continue;
+            }
+            double load = candidate.load();
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Validate every replica and update its health flag
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy = probe(replica);
+            if (healthy != replica.healthy) {
+                logger.warn("Replica {} is now {}", replica.name(), healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private boolean probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid((int) Math.max(1, validationTimeout.toSeconds()))) {
+                return false;
+            }
+            if (lagQuery == null) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                // No row or NULL means replication is not running
+                if (!result.next()) {
+                    return false;
+                }
+                long lagSeconds = result.getLong(1);
+                return !result.wasNull() && lagSeconds <= maxLag.toSeconds();
+            }
+        } catch (SQLException ex) {
+            logger.debug("Health check of replica {} failed", replica.name(), ex);
+            return false;
+        }
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * One replica connection pool and its current health
+     */
+    public static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return dataSource.getPoolName();
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * Busy plus waiting connections relative to the pool size
+         */
+        double load() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                // Pool not started yet: no connections in use
+                return 0;
+            }
+            return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+                    / dataSource.getMaximumPoolSize();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.springboot.master.datasource;
+
+/**
+ * Per-request routing hints for {@link ReadWriteRoutingDataSource}
+ *
+ * Demonstrates:
+ * - ThreadLocal request state shared between a servlet filter and the
+ *   DataSource without passing it through the service layer
+ *
+ * State only exists between {@link #begin(boolean)} and {@link #clear()},
+ * which {@link ReadYourWritesFilter} calls around each request; scheduler
+ * and other background threads are never pinned. "Pinned" forces read-only
+ * transactions to the primary (read-your-writes). "Wrote" records that the
+ * request opened a write transaction on the primary, which pins the rest
+ * of the request and the client's next requests.
+ *
+ * Independently of requests, loads whose result goes into a cache are
+ * marked with {@link #beginCacheLoad()} and read from the primary: a replica
+ * within max-replica-lag can still miss the write that evicted the entry,
+ * and the stale row would then be served for the cache's whole TTL.
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> CACHE_LOAD = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    public static void begin(boolean pinned) {
+        State state = new State();
+        state.pinned = pinned;
+        STATE.set(state);
+    }
+
+    /**
+     * True when reads on this thread must see the primary's latest writes
+     */
+    public static boolean isPinnedToPrimary() {
+        State state = STATE.get();
+        return state != null && (state.pinned || state.wrote);
+    }
+
+    static void markWrite() {
+        State state = STATE.get();
+        if (state != null) {
+            state.wrote = true;
+        }
+    }
+
+    public static boolean hasWritten() {
+        State state = STATE.get();
+        return state != null && state.wrote;
+    }
+
+    /**
+     * Mark the current thread as loading a value to be cached, until
+     * {@link #endCacheLoad(boolean)}; returns the previous mark for nesting
+     */
+    public static boolean beginCacheLoad() {
+        boolean previous = isCacheLoad();
+        CACHE_LOAD.set(Boolean.TRUE);
+        return previous;
+    }
+
+    public static void endCacheLoad(boolean previous) {
+        if (previous) {
+            CACHE_LOAD.set(Boolean.TRUE);
+        } else {
+            CACHE_LOAD.remove();
+        }
+    }
+
+    /**
+     * True when read-only transactions on this thread populate a cache
+     */
+    public static boolean isCacheLoad() {
+        return Boolean.TRUE.equals(CACHE_LOAD.get());
+    }
+
+    public static void clear() {
+        STATE.remove();
+    }
+
+    private static final class State {
+        private boolean pinned;
+        private boolean wrote;
+    }
+}
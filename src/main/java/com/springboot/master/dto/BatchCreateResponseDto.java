@@ -0,0 +1,62 @@
+package com.springboot.master.dto;
+
+import java.util.List;
+
+/**
+ * Batch Creation Response DTO
+ *
+ * Demonstrates:
+ * - Summary plus per-item results for partially successful bulk operations
+ */
+public class BatchCreateResponseDto {
+
+    private int requested;
+    private int created;
+    private int failed;
+    private List<BatchCreateResultDto> results;
+
+    // Constructors
+    public BatchCreateResponseDto() {}
+
+    public BatchCreateResponseDto(List<BatchCreateResultDto> results) {
+        this.results = results;
+        this.requested = results.size();
+        this.created = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchCreateResultDto.Status.CREATED)
+                .count();
+        this.failed = requested - created;
+    }
+
+    // Getters and Setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchCreateResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchCreateResultDto> results) {
+        this.results = results;
+    }
+}
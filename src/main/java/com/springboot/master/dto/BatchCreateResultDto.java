@@ -0,0 +1,85 @@
+package com.springboot.master.dto;
+
+/**
+ * Batch Creation Item Result DTO
+ *
+ * Demonstrates:
+ * - Per-item outcome reporting for bulk endpoints
+ */
+public class BatchCreateResultDto {
+
+    /**
+     * Outcome of a single batch item
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private int index;
+    private Status status;
+    private String username;
+    private Long id;
+    private String message;
+
+    // Constructors
+    public BatchCreateResultDto() {}
+
+    public BatchCreateResultDto(int index, Status status, String username, Long id, String message) {
+        this.index = index;
+        this.status = status;
+        this.username = username;
+        this.id = id;
+        this.message = message;
+    }
+
+    public static BatchCreateResultDto created(int index, String username, Long id) {
+        return new BatchCreateResultDto(index, Status.CREATED, username, id, null);
+    }
+
+    public static BatchCreateResultDto rejected(int index, Status status, String username, String message) {
+        return new BatchCreateResultDto(index, status, username, null, message);
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
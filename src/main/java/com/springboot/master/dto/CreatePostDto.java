@@ -0,0 +1,71 @@
+package com.springboot.master.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Post Creation DTO
+ * 
+ * Demonstrates:
+ * - Data Transfer Object pattern
+ * - Validation annotations matching the entity constraints
+ */
+public class CreatePostDto {
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title cannot exceed 200 characters")
+    private String title;
+
+    @NotBlank(message = "Content is required")
+    @Size(max = 5000, message = "Content cannot exceed 5000 characters")
+    private String content;
+
+    @NotNull(message = "Author ID is required")
+    private Long authorId;
+
+    private Boolean published = false;
+
+    // Constructors
+    public CreatePostDto() {}
+
+    public CreatePostDto(String title, String content, Long authorId, Boolean published) {
+        this.title = title;
+        this.content = content;
+        this.authorId = authorId;
+        this.published = published;
+    }
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public Boolean getPublished() {
+        return published;
+    }
+
+    public void setPublished(Boolean published) {
+        this.published = published;
+    }
+}
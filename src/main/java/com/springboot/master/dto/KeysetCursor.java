@@ -0,0 +1,56 @@
+package com.springboot.master.dto;
+
+import com.springboot.master.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset pagination cursor
+ *
+ * Demonstrates:
+ * - Opaque continuation tokens instead of page numbers
+ * - Encoding the last seen (sort key, id) so the next query can seek
+ *
+ * The token is URL-safe Base64 of {@code "<sortKey>|<id>"}. The sort key may
+ * be absent for listings ordered by id alone.
+ *
+ * @param createdAt sort key of the last row on the previous page, may be null
+ * @param id        id of the last row on the previous page, the tie-breaker
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String raw = (createdAt == null ? "" : createdAt.toString()) + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a client supplied token; blank means "start from the first page"
+     *
+     * @return the decoded cursor, or {@code null} for a blank token
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            String sortKey = raw.substring(0, separator);
+            return new KeysetCursor(
+                    sortKey.isEmpty() ? null : LocalDateTime.parse(sortKey),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + token, ex);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.springboot.master.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.*;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * User Patch DTO (JSON Merge Patch, RFC 7396)
+ *
+ * Demonstrates:
+ * - Sparse updates: only members present in the document are applied
+ * - Telling an absent member from an explicit null, which merge patch treats as removal
+ * - Rejecting members that cannot be patched instead of silently ignoring them
+ *
+ * Jackson calls a setter only for members present in the request body, so the
+ * setters record presence. Username, email and names are required and cannot
+ * be removed; age is optional and may be set to null. The password is not
+ * patchable: it has to be hashed and is not a profile field.
+ */
+public class UserPatchDto {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @Pattern(regexp = NOT_BLANK, message = "Username must not be blank")
+    private String username;
+
+    @Email(message = "Email should be valid")
+    @Pattern(regexp = NOT_BLANK, message = "Email must not be blank")
+    private String email;
+
+    @Pattern(regexp = NOT_BLANK, message = "First name must not be blank")
+    private String firstName;
+
+    @Pattern(regexp = NOT_BLANK, message = "Last name must not be blank")
+    private String lastName;
+
+    @Min(value = 18, message = "Age should not be less than 18")
+    @Max(value = 120, message = "Age should not be greater than 120")
+    private Integer age;
+
+    private final Set<String> present = new HashSet<>();
+    private final Set<String> unsupported = new LinkedHashSet<>();
+
+    // Constructors
+    public UserPatchDto() {}
+
+    /**
+     * Whether the member was present in the patch document
+     */
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+
+    @AssertTrue(message = "username, email, firstName and lastName cannot be removed")
+    @JsonIgnore
+    public boolean isWithoutRemovals() {
+        return !(has("username") && username == null) && !(has("email") && email == null)
+                && !(has("firstName") && firstName == null) && !(has("lastName") && lastName == null);
+    }
+
+    @AssertTrue(message = "Only username, email, firstName, lastName and age can be patched")
+    @JsonIgnore
+    public boolean isOnlyPatchableFields() {
+        return unsupported.isEmpty();
+    }
+
+    @JsonAnySetter
+    public void setUnsupported(String field, Object value) {
+        unsupported.add(field);
+    }
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+        present.add("username");
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        present.add("email");
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+        present.add("firstName");
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+        present.add("lastName");
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+        present.add("age");
+    }
+}
@@ -1,6 +1,8 @@
 package com.springboot.master.dto;
 
 import com.springboot.master.entity.UserRole;
+
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
@@ -9,8 +11,12 @@ import java.time.LocalDateTime;
  * Demonstrates:
  * - Response DTOs without sensitive information
  * - Clean API responses
+ * - Serializable so it can be stored in a shared (Redis) cache tier
+ * - Denormalized post count, read from the user row at no extra query cost
  */
-public class UserResponseDto {
+public class UserResponseDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Long id;
     private String username;
@@ -22,6 +28,8 @@ public class UserResponseDto {
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long postCount;
+    private Long version;
 
     // Constructors
     public UserResponseDto() {}
@@ -41,6 +49,20 @@ public class UserResponseDto {
         this.updatedAt = updatedAt;
     }
 
+    public UserResponseDto(Long id, String username, String email, String firstName, String lastName, 
+                          Integer age, UserRole role, Boolean isActive, LocalDateTime createdAt, 
+                          LocalDateTime updatedAt, Long postCount) {
+        this(id, username, email, firstName, lastName, age, role, isActive, createdAt, updatedAt);
+        this.postCount = postCount;
+    }
+
+    public UserResponseDto(Long id, String username, String email, String firstName, String lastName, 
+                          Integer age, UserRole role, Boolean isActive, LocalDateTime createdAt, 
+                          LocalDateTime updatedAt, Long postCount, Long version) {
+        this(id, username, email, firstName, lastName, age, role, isActive, createdAt, updatedAt, postCount);
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -121,4 +143,20 @@ public class UserResponseDto {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(Long postCount) {
+        this.postCount = postCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -16,9 +16,13 @@ import java.time.LocalDateTime;
  * - JPA entity mapping
  * - Validation constraints
  * - Audit fields
+ * - Composite index for the published feed
  */
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    // Serves the published feed (WHERE is_published = true ORDER BY created_at DESC, id DESC)
+    @Index(name = "idx_posts_published_created_at_id", columnList = "is_published, created_at, id")
+})
 public class Post {
 
     @Id
@@ -2,9 +2,13 @@ package com.springboot.master.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.springboot.master.search.UserIdentifierFilterListener;
+import com.springboot.master.search.UserNameIndexListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,29 +18,53 @@ import java.util.List;
  * 
  * Demonstrates JPA concepts:
  * - Entity mapping with @Entity
- * - Primary key with @Id and @GeneratedValue
+ * - Primary key with @Id and a pooled @SequenceGenerator
  * - Column mapping with @Column
  * - Validation annotations
  * - Audit fields with @CreationTimestamp and @UpdateTimestamp
+ * - Optimistic locking with @Version
+ * - Column-level UPDATEs with @DynamicUpdate
+ * - Named unique constraints, so violations can be mapped to the offending field
  * - One-to-Many relationship
+ * - Denormalized counter column maintained by atomic UPDATE statements
+ * - Composite indexes for keyset pagination
+ * - Entity listeners for maintaining derived in-memory indexes and filters
  * - JSON serialization control
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+}, indexes = {
+    // Keyset pagination seeks on (created_at, id) instead of OFFSET scans
+    @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_users_active_created_at_id", columnList = "is_active, created_at, id"),
+    @Index(name = "idx_users_role_created_at_id", columnList = "role, created_at, id")
+})
+@EntityListeners({UserNameIndexListener.class, UserIdentifierFilterListener.class})
+// UPDATE only the dirty columns: profile edits leave username/email and their unique indexes untouched
+@DynamicUpdate
 public class User {
 
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    // Pooled sequence (50 ids per round trip) instead of IDENTITY, so Hibernate can batch INSERTs.
+    // Databases without sequences (MySQL) get an equivalent users_seq table; existing MySQL
+    // databases must create and seed it above MAX(id) first (db/mysql/users_seq.sql).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -70,6 +98,20 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Number of posts, maintained by UserRepository.adjustPostCount and reconciled by
+    // PostCountReconciler. Not updatable through the entity so a stale in-memory
+    // value can never overwrite a concurrent increment.
+    @ColumnDefault("0")
+    @Column(name = "post_count", nullable = false, updatable = false)
+    private Long postCount = 0L;
+
+    // Bumped on every entity update; the UPDATE only matches the version that was read,
+    // so a concurrent edit fails instead of being silently overwritten
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // One-to-Many relationship
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
@@ -176,6 +218,22 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public Long getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(Long postCount) {
+        this.postCount = postCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Post> getPosts() {
         return posts;
     }
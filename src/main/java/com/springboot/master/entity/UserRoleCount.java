@@ -0,0 +1,57 @@
+package com.springboot.master.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Maintained number of users per role
+ *
+ * Demonstrates:
+ * - Enum primary key stored as a string
+ * - A counter table instead of COUNT(*) over the users table
+ *
+ * One row per {@link UserRole}. Rows are adjusted with atomic UPDATE
+ * statements in the same transaction as the user insert or role change,
+ * and repaired by {@link com.springboot.master.service.UserRoleCounter}.
+ */
+@Entity
+@Table(name = "user_role_counts")
+public class UserRoleCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private UserRole role;
+
+    @Column(name = "user_count", nullable = false)
+    private Long userCount = 0L;
+
+    // Constructors
+    protected UserRoleCount() {}
+
+    public UserRoleCount(UserRole role, Long userCount) {
+        this.role = role;
+        this.userCount = userCount;
+    }
+
+    // Getters and Setters
+    public UserRole getRole() {
+        return role;
+    }
+
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+
+    public Long getUserCount() {
+        return userCount;
+    }
+
+    public void setUserCount(Long userCount) {
+        this.userCount = userCount;
+    }
+}
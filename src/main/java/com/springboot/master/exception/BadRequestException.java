@@ -0,0 +1,18 @@
+package com.springboot.master.exception;
+
+/**
+ * Custom Exception for requests that are well-formed but not acceptable
+ * 
+ * Demonstrates:
+ * - Client input errors mapped to 400 Bad Request
+ */
+public class BadRequestException extends RuntimeException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+    
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
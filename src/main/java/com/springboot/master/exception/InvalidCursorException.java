@@ -0,0 +1,18 @@
+package com.springboot.master.exception;
+
+/**
+ * Custom Exception for malformed or tampered pagination cursors
+ * 
+ * Demonstrates:
+ * - Client input errors mapped to 400 Bad Request
+ */
+public class InvalidCursorException extends RuntimeException {
+    
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+    
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
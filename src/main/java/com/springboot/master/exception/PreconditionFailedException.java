@@ -0,0 +1,19 @@
+package com.springboot.master.exception;
+
+/**
+ * Custom Exception for failed conditional requests
+ *
+ * Demonstrates:
+ * - 412 Precondition Failed when an If-Match version is no longer current
+ * - Lost-update protection without holding locks between read and write
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,27 @@
+package com.springboot.master.exception;
+
+/**
+ * Custom Exception for load shedding scenarios
+ * 
+ * Demonstrates:
+ * - Fast failure with 503 Service Unavailable instead of queueing forever
+ * - Retry-After hint for well-behaved clients
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public ServiceUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,53 @@
+package com.springboot.master.metrics;
+
+import com.springboot.master.config.AdviceOrder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks @Cacheable invocations that reached the real method
+ *
+ * Demonstrates:
+ * - Detecting cache hits without touching the cache: this advice sits inside
+ *   Spring's caching interceptor, so it only runs on a miss
+ *
+ * {@link LatencyTimingAspect} resets the flag before calling into the caching
+ * layer and reads it afterwards to tag the timer with cache=hit or cache=miss.
+ */
+@Aspect
+@Component
+@Order(AdviceOrder.CACHE_MISS_MARKER)
+public class CacheMissMarkerAspect {
+
+    private static final ThreadLocal<Boolean> INVOKED = new ThreadLocal<>();
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object markInvoked(ProceedingJoinPoint joinPoint) throws Throwable {
+        INVOKED.set(Boolean.TRUE);
+        return joinPoint.proceed();
+    }
+
+    /**
+     * Clear the flag and return its previous value, to be restored with {@link #restore}
+     */
+    static Boolean reset() {
+        Boolean previous = INVOKED.get();
+        INVOKED.set(Boolean.FALSE);
+        return previous;
+    }
+
+    static boolean wasInvoked() {
+        return Boolean.TRUE.equals(INVOKED.get());
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            INVOKED.remove();
+        } else {
+            INVOKED.set(previous);
+        }
+    }
+}
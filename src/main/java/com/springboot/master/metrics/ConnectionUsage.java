@@ -0,0 +1,53 @@
+package com.springboot.master.metrics;
+
+/**
+ * Per-thread connection pool usage counters
+ *
+ * Demonstrates:
+ * - Attributing pool wait and connection hold time to the request that caused
+ *   them (Hikari's own metrics are per pool, not per endpoint)
+ * - The same accumulate-and-diff scheme as {@link QueryStatistics}
+ *
+ * Fed by {@link ConnectionUsageTrackerFactory}, which Hikari calls on the
+ * borrowing thread when a connection is handed out and when it is returned.
+ */
+public final class ConnectionUsage {
+
+    private static final ThreadLocal<Counters> COUNTERS = ThreadLocal.withInitial(Counters::new);
+
+    /**
+     * Counter values at one point in time, or the difference between two points
+     */
+    public record Snapshot(long connections, long waitNanos, long holdMillis) {
+
+        public Snapshot since(Snapshot earlier) {
+            return new Snapshot(
+                    connections - earlier.connections,
+                    waitNanos - earlier.waitNanos,
+                    holdMillis - earlier.holdMillis);
+        }
+    }
+
+    private static final class Counters {
+        private long connections;
+        private long waitNanos;
+        private long holdMillis;
+    }
+
+    private ConnectionUsage() {}
+
+    public static Snapshot snapshot() {
+        Counters counters = COUNTERS.get();
+        return new Snapshot(counters.connections, counters.waitNanos, counters.holdMillis);
+    }
+
+    static void acquired(long waitNanos) {
+        Counters counters = COUNTERS.get();
+        counters.connections++;
+        counters.waitNanos += waitNanos;
+    }
+
+    static void released(long holdMillis) {
+        COUNTERS.get().holdMillis += holdMillis;
+    }
+}
@@ -0,0 +1,65 @@
+package com.springboot.master.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports connection wait and hold time per endpoint
+ *
+ * Demonstrates:
+ * - Per-endpoint timers keyed by the matched route template (bounded tag values)
+ *
+ * Records app.db.connection.hold and app.db.connection.wait, tagged with
+ * method and uri (e.g. /users/{id}), for every request that borrowed a
+ * connection. Sorting endpoints by total hold time shows which ones occupy
+ * the pool, including time spent outside SQL while a transaction is open.
+ */
+public class ConnectionUsageFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ConnectionUsageFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ConnectionUsage.Snapshot before = ConnectionUsage.snapshot();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConnectionUsage.Snapshot used = ConnectionUsage.snapshot().since(before);
+            if (used.connections() > 0) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+                timer("app.db.connection.hold", "Time connections were held by a request", request, uri)
+                        .record(used.holdMillis(), TimeUnit.MILLISECONDS);
+                timer("app.db.connection.wait", "Time a request waited for pool connections", request, uri)
+                        .record(used.waitNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Timer timer(String name, String description, HttpServletRequest request, String uri) {
+        return timers.computeIfAbsent(new TimerKey(name, request.getMethod(), uri), key -> Timer.builder(key.name())
+                .description(description)
+                .tag("method", key.method())
+                .tag("uri", key.uri())
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(String name, String method, String uri) {}
+}
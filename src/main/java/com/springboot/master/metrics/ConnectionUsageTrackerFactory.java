@@ -0,0 +1,59 @@
+package com.springboot.master.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.function.Supplier;
+
+/**
+ * Hikari metrics tracker that also feeds {@link ConnectionUsage}
+ *
+ * Demonstrates:
+ * - Decorating Hikari's metrics SPI instead of wrapping every Connection
+ *
+ * Pool-level metrics still go to the delegate (normally Micrometer's
+ * hikaricp.* meters). The delegate factory is resolved when the pool starts,
+ * so the MeterRegistry does not have to exist when the DataSource is created.
+ */
+public class ConnectionUsageTrackerFactory implements MetricsTrackerFactory {
+
+    private final Supplier<MetricsTrackerFactory> delegate;
+
+    public ConnectionUsageTrackerFactory(Supplier<MetricsTrackerFactory> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker tracker = delegate.get().create(poolName, poolStats);
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                ConnectionUsage.acquired(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                ConnectionUsage.released(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                tracker.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                tracker.close();
+            }
+        };
+    }
+}
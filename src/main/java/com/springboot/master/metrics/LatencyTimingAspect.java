@@ -0,0 +1,214 @@
+package com.springboot.master.metrics;
+
+import com.springboot.master.config.AdviceOrder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for controllers, services and repositories
+ *
+ * Demonstrates:
+ * - Cross-cutting instrumentation with Spring AOP instead of code in every method
+ * - One Micrometer timer name with layer/class/method/outcome/cache tags, so
+ *   percentiles of the three layers can be compared side by side
+ * - Cache hit/miss tagging for @Cacheable methods (see {@link CacheMissMarkerAspect})
+ * - A per-request breakdown logged when a request exceeds its latency budget
+ *
+ * Runs as the outermost advice ({@link AdviceOrder#TIMING}) so service timings
+ * include cache lookups and transaction handling. Percentiles and histogram
+ * buckets are switched on in application.properties
+ * (management.metrics.distribution.*.app.latency).
+ */
+@Aspect
+@Component
+@Order(AdviceOrder.TIMING)
+public class LatencyTimingAspect {
+
+    public static final String METRIC_NAME = "app.latency";
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyTimingAspect.class);
+
+    private static final ThreadLocal<RequestBreakdown> BREAKDOWN = new ThreadLocal<>();
+
+    enum Layer {
+        CONTROLLER, SERVICE, REPOSITORY;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestThresholdNanos;
+    private final Map<Method, Boolean> cacheableMethods = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public LatencyTimingAspect(MeterRegistry meterRegistry,
+                               @Value("${app.metrics.slow-request-threshold:500ms}") Duration slowRequestThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Around("within(com.springboot.master.controller..*) && execution(public * *(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Layer.CONTROLLER, joinPoint, AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName());
+    }
+
+    @Around("within(com.springboot.master.service..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Layer.SERVICE, joinPoint, AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName());
+    }
+
+    /**
+     * Spring Data repositories are JDK proxies; this() matches the proxy, which
+     * also covers inherited methods such as findById and save.
+     */
+    @Around("this(org.springframework.data.repository.Repository) && execution(public * *(..)) "
+            + "&& !execution(* java.lang.Object.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Layer.REPOSITORY, joinPoint, repositoryName(joinPoint.getThis()));
+    }
+
+    private Object time(Layer layer, ProceedingJoinPoint joinPoint, String className) throws Throwable {
+        RequestBreakdown breakdown = BREAKDOWN.get();
+        boolean requestOwner = false;
+        if (breakdown == null && layer == Layer.CONTROLLER) {
+            breakdown = new RequestBreakdown();
+            BREAKDOWN.set(breakdown);
+            requestOwner = true;
+        }
+        boolean outermostInLayer = breakdown != null && breakdown.enter(layer);
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        boolean cacheable = layer == Layer.SERVICE && isCacheable(method);
+        Boolean previousMarker = cacheable ? CacheMissMarkerAspect.reset() : null;
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String cache = "none";
+            if (cacheable) {
+                cache = CacheMissMarkerAspect.wasInvoked() ? "miss" : "hit";
+                CacheMissMarkerAspect.restore(previousMarker);
+            }
+            timer(new TimerKey(layer, className, method, failure == null ? null : failure.getClass(), cache))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (breakdown != null) {
+                breakdown.exit(layer, elapsed, outermostInLayer);
+            }
+            if (requestOwner) {
+                BREAKDOWN.remove();
+                if (elapsed > slowRequestThresholdNanos) {
+                    logger.warn("Slow request {}.{} took {} ms: {}", className, method.getName(),
+                            TimeUnit.NANOSECONDS.toMillis(elapsed), breakdown.describe());
+                }
+            }
+        }
+    }
+
+    /**
+     * Registered once per tag combination; the builder and registry lookup are
+     * too costly to repeat on every repository call.
+     */
+    private Timer timer(TimerKey key) {
+        return timers.computeIfAbsent(key, k -> Timer.builder(METRIC_NAME)
+                .description("Latency of controller, service and repository methods")
+                .tag("layer", k.layer().tag())
+                .tag("class", k.className())
+                .tag("method", k.method().getName())
+                .tag("outcome", k.exception() == null ? "success" : "error")
+                .tag("exception", k.exception() == null ? "none" : k.exception().getSimpleName())
+                .tag("cache", k.cache())
+                .register(meterRegistry));
+    }
+
+    /**
+     * Class name is part of the key because inherited repository methods such as
+     * findById share one Method across repositories.
+     */
+    private record TimerKey(Layer layer, String className, Method method, Class<?> exception, String cache) {}
+
+    private boolean isCacheable(Method method) {
+        return cacheableMethods.computeIfAbsent(method,
+                candidate -> AnnotatedElementUtils.hasAnnotation(candidate, Cacheable.class));
+    }
+
+    /**
+     * Name of the application repository interface implemented by the proxy
+     */
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> {
+            for (Class<?> candidate : proxyClass.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate) && candidate != Repository.class
+                        && candidate.getPackageName().startsWith("com.springboot.master")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return proxyClass.getSimpleName();
+        });
+    }
+
+    /**
+     * Time spent per layer during one controller call. Only the outermost call
+     * of each layer is summed, so a service calling another service is not
+     * counted twice.
+     */
+    private static final class RequestBreakdown {
+
+        private final long[] nanos = new long[Layer.values().length];
+        private final int[] calls = new int[Layer.values().length];
+        private final int[] depth = new int[Layer.values().length];
+
+        boolean enter(Layer layer) {
+            return depth[layer.ordinal()]++ == 0;
+        }
+
+        void exit(Layer layer, long elapsedNanos, boolean outermost) {
+            depth[layer.ordinal()]--;
+            if (outermost) {
+                nanos[layer.ordinal()] += elapsedNanos;
+                calls[layer.ordinal()]++;
+            }
+        }
+
+        String describe() {
+            StringBuilder description = new StringBuilder();
+            for (Layer layer : new Layer[] {Layer.SERVICE, Layer.REPOSITORY}) {
+                if (description.length() > 0) {
+                    description.append(", ");
+                }
+                description.append(layer.tag()).append(' ')
+                        .append(TimeUnit.NANOSECONDS.toMillis(nanos[layer.ordinal()])).append(" ms in ")
+                        .append(calls[layer.ordinal()]).append(calls[layer.ordinal()] == 1 ? " call" : " calls");
+            }
+            return description.toString();
+        }
+    }
+}
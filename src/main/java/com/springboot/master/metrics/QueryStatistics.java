@@ -0,0 +1,71 @@
+package com.springboot.master.metrics;
+
+/**
+ * Per-thread Hibernate activity counters
+ *
+ * Demonstrates:
+ * - Attributing SQL work to the request that caused it (Hibernate's own
+ *   Statistics are global to the SessionFactory)
+ * - Accumulate-and-diff instead of reset, so nested scopes (a request filter
+ *   and a test extension) can measure at the same time
+ *
+ * Fed by {@link QueryStatisticsSessionListener} (statements, JDBC time) and
+ * {@link QueryStatisticsIntegrator} (entity loads, lazy collection fetches).
+ * Take a {@link #snapshot()} before the work and diff it afterwards.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<Counters> COUNTERS = ThreadLocal.withInitial(Counters::new);
+
+    /**
+     * Counter values at one point in time, or the difference between two points
+     */
+    public record Snapshot(long statements, long jdbcNanos, long entityLoads, long collectionFetches) {
+
+        public Snapshot since(Snapshot earlier) {
+            return new Snapshot(
+                    statements - earlier.statements,
+                    jdbcNanos - earlier.jdbcNanos,
+                    entityLoads - earlier.entityLoads,
+                    collectionFetches - earlier.collectionFetches);
+        }
+
+        public double jdbcMillis() {
+            return jdbcNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("statements=%d;jdbcMs=%.2f;entities=%d;collections=%d",
+                    statements, jdbcMillis(), entityLoads, collectionFetches);
+        }
+    }
+
+    private static final class Counters {
+        private long statements;
+        private long jdbcNanos;
+        private long entityLoads;
+        private long collectionFetches;
+    }
+
+    private QueryStatistics() {}
+
+    public static Snapshot snapshot() {
+        Counters counters = COUNTERS.get();
+        return new Snapshot(counters.statements, counters.jdbcNanos, counters.entityLoads, counters.collectionFetches);
+    }
+
+    static void statementExecuted(long nanos) {
+        Counters counters = COUNTERS.get();
+        counters.statements++;
+        counters.jdbcNanos += nanos;
+    }
+
+    static void entityLoaded() {
+        COUNTERS.get().entityLoads++;
+    }
+
+    static void collectionFetched() {
+        COUNTERS.get().collectionFetches++;
+    }
+}
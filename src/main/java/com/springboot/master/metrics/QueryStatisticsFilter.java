@@ -0,0 +1,52 @@
+package com.springboot.master.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Reports Hibernate activity per HTTP request (development aid)
+ *
+ * Demonstrates:
+ * - Measuring the whole request including JSON serialization, which is where
+ *   open-in-view lazy loading hides
+ * - Buffering the response so a header can still be added after the body is written
+ *
+ * Adds an X-Query-Stats header and a log line such as
+ * "GET /api/v1/users -> 200: statements=2;jdbcMs=0.84;entities=10;collections=0".
+ * Streaming endpoints (/export) are skipped because buffering would defeat them.
+ * Registered only when app.query-stats.enabled=true (dev profile).
+ */
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Stats";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatisticsFilter.class);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        QueryStatistics.Snapshot before = QueryStatistics.snapshot();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            QueryStatistics.Snapshot used = QueryStatistics.snapshot().since(before);
+            wrapper.setHeader(HEADER, used.toString());
+            logger.info("{} {} -> {}: {}", request.getMethod(), request.getRequestURI(), wrapper.getStatus(), used);
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
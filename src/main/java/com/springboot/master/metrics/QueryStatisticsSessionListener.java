@@ -0,0 +1,36 @@
+package com.springboot.master.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts JDBC statement executions and their time for {@link QueryStatistics}
+ *
+ * Hibernate creates one instance per Session (hibernate.session.events.auto),
+ * so the start timestamps need no synchronization. A JDBC batch counts as one
+ * statement, which is what it costs in round trips.
+ */
+public class QueryStatisticsSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStatistics.statementExecuted(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryStatistics.statementExecuted(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,51 @@
+package com.springboot.master.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Throttles clients that keep sending bad credentials, per remote address
+ *
+ * Demonstrates:
+ * - A filter placed before authentication, so a throttled client is answered
+ *   with 429 before a password hash is computed
+ * - Charging the bucket from the response: only requests that carried
+ *   credentials and ended in 401 count
+ *
+ * {@link RateLimitFilter} runs after authentication and keys by principal,
+ * which a client guessing passwords never gets.
+ */
+public class FailedAuthenticationFilter extends OncePerRequestFilter {
+
+    private final FailedAuthenticationLimiter limiter;
+
+    public FailedAuthenticationFilter(FailedAuthenticationLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getHeader(HttpHeaders.AUTHORIZATION) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String client = "ip:" + request.getRemoteAddr();
+        long waitNanos = limiter.waitNanos(client);
+        if (waitNanos > 0) {
+            RateLimitFilter.reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+        if (response.getStatus() == HttpStatus.UNAUTHORIZED.value()) {
+            limiter.recordFailure(client);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.springboot.master.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-client budget for failed authentication attempts
+ *
+ * Demonstrates:
+ * - Reusing one GCRA route outside of path matching
+ * - Charging a bucket only for failures, so clients that send valid
+ *   credentials are never slowed down
+ *
+ * Used by {@link FailedAuthenticationFilter}. Metrics are the same as for
+ * {@link GcraRateLimiter}, tagged with the rule name.
+ */
+public class FailedAuthenticationLimiter {
+
+    private final GcraRateLimiter.Route route;
+
+    public FailedAuthenticationLimiter(RateLimitRule rule, MeterRegistry meterRegistry) {
+        this.route = new GcraRateLimiter.Route(rule, meterRegistry);
+    }
+
+    /**
+     * @return 0 when the client may try again, otherwise nanoseconds until it may
+     */
+    public long waitNanos(String client) {
+        return route.waitNanos(client, System.nanoTime());
+    }
+
+    public void recordFailure(String client) {
+        route.tryAcquire(client, System.nanoTime());
+    }
+
+    /**
+     * Drop buckets that have been full for at least idleNanos
+     *
+     * @return number of evicted buckets
+     */
+    public int evictIdle(long idleNanos) {
+        return route.evictIdle(idleNanos, System.nanoTime());
+    }
+}
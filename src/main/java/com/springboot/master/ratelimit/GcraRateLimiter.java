@@ -0,0 +1,152 @@
+package com.springboot.master.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-client rate limiter using the Generic Cell Rate Algorithm
+ *
+ * Demonstrates:
+ * - GCRA: a token bucket expressed as a single "theoretical arrival time"
+ *   (TAT) per client, so each bucket is one AtomicLong updated by CAS,
+ *   with no refill thread and no lock
+ * - ConcurrentHashMap as the striped bucket store: lock-free reads on the
+ *   hot path, per-bin locking only when a new client appears
+ * - Idle-bucket eviction: a bucket whose TAT is in the past is full again
+ *   and indistinguishable from a new one, so removing it loses nothing
+ *
+ * A request is allowed when max(TAT, now) + T - now <= tau, where T is the
+ * emission interval (1 / rate) and tau the burst tolerance (burst * T); the
+ * TAT then advances by T. Rules are matched in order, first match wins.
+ * Metrics: app.ratelimit.throttled{route} and app.ratelimit.buckets{route}.
+ */
+public class GcraRateLimiter {
+
+    private final List<Route> routes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public GcraRateLimiter(List<RateLimitRule> rules, MeterRegistry meterRegistry) {
+        this.routes = rules.stream().map(rule -> new Route(rule, meterRegistry)).toList();
+    }
+
+    /**
+     * First rule matching the request, or null when the path is not limited
+     */
+    public RateLimitRule match(String method, String path) {
+        Route route = route(method, path);
+        return route != null ? route.rule : null;
+    }
+
+    /**
+     * Try to admit one request of the client on the matching route
+     *
+     * @return 0 when admitted, otherwise nanoseconds until the request would be admitted
+     */
+    public long tryAcquire(String method, String path, String client) {
+        return tryAcquire(method, path, client, System.nanoTime());
+    }
+
+    long tryAcquire(String method, String path, String client, long now) {
+        Route route = route(method, path);
+        return route != null ? route.tryAcquire(client, now) : 0;
+    }
+
+    /**
+     * Drop buckets that have been full for at least idleNanos
+     *
+     * @return number of evicted buckets
+     */
+    public int evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Route route : routes) {
+            evicted += route.evictIdle(idleNanos, now);
+        }
+        return evicted;
+    }
+
+    private Route route(String method, String path) {
+        for (Route route : routes) {
+            RateLimitRule rule = route.rule;
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && pathMatcher.match(rule.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Buckets and meters of one rule
+     */
+    static final class Route {
+
+        private final RateLimitRule rule;
+        private final long emissionInterval;
+        private final long burstTolerance;
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final Counter throttled;
+
+        Route(RateLimitRule rule, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.emissionInterval = rule.emissionIntervalNanos();
+            this.burstTolerance = rule.burstToleranceNanos();
+            this.throttled = Counter.builder("app.ratelimit.throttled")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("route", rule.name())
+                    .register(meterRegistry);
+            Gauge.builder("app.ratelimit.buckets", buckets, Map::size)
+                    .description("Clients with a rate limit bucket")
+                    .tag("route", rule.name())
+                    .register(meterRegistry);
+        }
+
+        long tryAcquire(String client, long now) {
+            AtomicLong tat = buckets.get(client);
+            if (tat == null) {
+                tat = buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+            }
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + emissionInterval;
+                long excess = next - now - burstTolerance;
+                if (excess > 0) {
+                    throttled.increment();
+                    return excess;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Nanoseconds until the client's next request would be admitted, without consuming it
+         */
+        long waitNanos(String client, long now) {
+            AtomicLong tat = buckets.get(client);
+            if (tat == null) {
+                return 0;
+            }
+            long excess = Math.max(tat.get(), now) + emissionInterval - now - burstTolerance;
+            if (excess > 0) {
+                throttled.increment();
+                return excess;
+            }
+            return 0;
+        }
+
+        int evictIdle(long idleNanos, long now) {
+            int before = buckets.size();
+            buckets.values().removeIf(tat -> now - tat.get() >= idleNanos);
+            return before - buckets.size();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.springboot.master.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rate limit for one route
+ *
+ * @param name    route name used in metric tags and bucket keys
+ * @param pattern Ant path pattern relative to the context path
+ * @param method  HTTP method to match, or null for any
+ * @param rate    sustained requests per second
+ * @param burst   requests that may arrive at once on a full bucket
+ */
+public record RateLimitRule(String name, String pattern, String method, double rate, int burst) {
+
+    public RateLimitRule {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs rate > 0 and burst >= 1");
+        }
+    }
+
+    /**
+     * GCRA emission interval T: the time one request "costs"
+     */
+    long emissionIntervalNanos() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+
+    /**
+     * GCRA burst tolerance tau = burst * T
+     */
+    long burstToleranceNanos() {
+        return emissionIntervalNanos() * burst;
+    }
+}
@@ -4,6 +4,7 @@ import com.springboot.master.entity.Post;
 import com.springboot.master.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Post Repository Interface
@@ -20,6 +22,7 @@ import java.util.List;
  * - Relationship-based queries
  * - Date/time queries
  * - Pagination with custom queries
+ * - Entity graphs to load authors with their posts in one query
  */
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -52,4 +55,19 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         @Param("startDate") LocalDateTime startDate, 
         @Param("endDate") LocalDateTime endDate
     );
+    
+    // Feed queries: the author is fetched in the same SELECT, so mapping a page
+    // never triggers per-row lazy loads. The count query skips the join.
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "SELECT p FROM Post p WHERE p.isPublished = true",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.isPublished = true")
+    Page<Post> findPublishedFeed(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "SELECT p FROM Post p WHERE p.user.id = :userId AND p.isPublished = true",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId AND p.isPublished = true")
+    Page<Post> findPublishedPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "user")
+    Optional<Post> findWithUserById(Long id);
 }
@@ -1,16 +1,24 @@
 package com.springboot.master.repository;
 
+import com.springboot.master.dto.UserResponseDto;
 import com.springboot.master.entity.User;
 import com.springboot.master.entity.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User Repository Interface
@@ -22,10 +30,20 @@ import java.util.Optional;
  * - Method parameters binding
  * - Pagination support
  * - Optional return types
+ * - Keyset (seek) pagination without OFFSET or COUNT queries
+ * - Streaming results with a JDBC fetch size
+ * - DTO constructor projections for read-only paths
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Constructor expression shared by the read-side projections below. Selecting straight
+     * into the DTO skips managed entities, dirty-checking snapshots and the password column.
+     */
+    String USER_RESPONSE = "new com.springboot.master.dto.UserResponseDto(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.age, u.role, u.isActive, u.createdAt, u.updatedAt, u.postCount, u.version)";
+
     // Query methods by naming convention
     Optional<User> findByUsername(String username);
     
@@ -48,6 +66,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.firstName LIKE %:name% OR u.lastName LIKE %:name%")
     List<User> findByFirstNameOrLastNameContaining(@Param("name") String name);
     
+    // Paginated fallback for searches the trigram index cannot serve (short terms, index warming up)
+    // Case-insensitive like the index, so results do not depend on whether the index is ready
+    @Query(value = "SELECT " + USER_RESPONSE + " FROM User u " +
+                   "WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :name, '%'))",
+           countQuery = "SELECT COUNT(u) FROM User u " +
+                        "WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<UserResponseDto> searchResponses(@Param("name") String name, Pageable pageable);
+    
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") UserRole role);
     
@@ -60,8 +86,91 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u.username, u.email, u.role FROM User u WHERE u.isActive = true")
     List<Object[]> findActiveUsersBasicInfo();
     
+    // Read-side DTO projections
+    @Query(value = "SELECT " + USER_RESPONSE + " FROM User u", countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponseDto> findAllResponses(Pageable pageable);
+    
+    @Query(value = "SELECT " + USER_RESPONSE + " FROM User u WHERE u.isActive = true",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.isActive = true")
+    Page<UserResponseDto> findActiveResponses(Pageable pageable);
+    
+    @Query("SELECT " + USER_RESPONSE + " FROM User u WHERE u.role = :role")
+    List<UserResponseDto> findResponsesByRole(@Param("role") UserRole role);
+    
+    @Query("SELECT " + USER_RESPONSE + " FROM User u WHERE u.id IN :ids")
+    List<UserResponseDto> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Keyset pagination: newest first, ordered by (createdAt, id) and served by idx_users_created_at_id.
+    // The Pageable only carries the limit; List return types skip the COUNT query.
+    // The seek predicate is spelled out because Hibernate 6 rejects row-value comparisons in JPQL.
+    @Query("SELECT " + USER_RESPONSE + " FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponseDto> findKeysetFirstPage(Pageable limit);
+    
+    @Query("SELECT " + USER_RESPONSE + " FROM User u WHERE (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponseDto> findKeysetPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+    
+    @Query("SELECT " + USER_RESPONSE + " FROM User u WHERE u.isActive = true ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponseDto> findActiveKeysetFirstPage(Pageable limit);
+    
+    @Query("SELECT " + USER_RESPONSE + " FROM User u WHERE u.isActive = true AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponseDto> findActiveKeysetPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+    
+    // Role listings, served by idx_users_role_created_at_id
+    @Query("SELECT " + USER_RESPONSE + " FROM User u WHERE u.role = :role ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponseDto> findRoleKeysetFirstPage(@Param("role") UserRole role, Pageable limit);
+    
+    @Query("SELECT " + USER_RESPONSE + " FROM User u WHERE u.role = :role AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponseDto> findRoleKeysetPageBefore(@Param("role") UserRole role, @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id, Pageable limit);
+    
+    // Streaming read of full users for exports: forward-only cursor, fetch size hint and
+    // read-only entities (no dirty-checking snapshots). Callers must run inside a transaction
+    // and close the stream. On MySQL the fetch size needs useCursorFetch=true (set in the prod profile).
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderById();
+    
+    // Streaming read of (id, firstName, lastName) for rebuilding the in-memory name index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id, u.firstName, u.lastName FROM User u")
+    Stream<Object[]> streamNameIndexRows();
+    
+    // Streaming read of (username, email) for filling the in-memory availability filter
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username, u.email FROM User u")
+    Stream<Object[]> streamIdentifierRows();
+    
     // Exists query
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+    
+    // Set-based existence checks for bulk creation
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Denormalized post counter: a single atomic read-modify-write in the database,
+    // executed in the same transaction as the post insert or delete
+    @Modifying
+    @Query("UPDATE User u SET u.postCount = u.postCount + :delta WHERE u.id = :id")
+    int adjustPostCount(@Param("id") Long id, @Param("delta") long delta);
+    
+    // Reconciliation of the counter against the posts table, one id range at a time
+    @Query("SELECT MIN(u.id), MAX(u.id) FROM User u")
+    List<Object[]> findIdRange();
+    
+    @Modifying
+    @Query("UPDATE User u SET u.postCount = (SELECT COUNT(p) FROM Post p WHERE p.user.id = u.id) " +
+           "WHERE u.id BETWEEN :fromId AND :toId " +
+           "AND u.postCount <> (SELECT COUNT(p) FROM Post p WHERE p.user.id = u.id)")
+    int reconcilePostCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -0,0 +1,36 @@
+package com.springboot.master.repository;
+
+import com.springboot.master.entity.UserRole;
+import com.springboot.master.entity.UserRoleCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the per-role user counters
+ *
+ * Demonstrates:
+ * - Scalar projection by primary key
+ * - Atomic counter updates with @Modifying queries
+ */
+@Repository
+public interface UserRoleCountRepository extends JpaRepository<UserRoleCount, UserRole> {
+
+    @Query("SELECT c.userCount FROM UserRoleCount c WHERE c.role = :role")
+    Optional<Long> findCountByRole(@Param("role") UserRole role);
+
+    // Single read-modify-write in the database; callers run it in the transaction that changed the users
+    @Modifying
+    @Query("UPDATE UserRoleCount c SET c.userCount = c.userCount + :delta WHERE c.role = :role")
+    int adjust(@Param("role") UserRole role, @Param("delta") long delta);
+
+    // Repair against the users table; only touches the row when it has drifted
+    @Modifying
+    @Query("UPDATE UserRoleCount c SET c.userCount = (SELECT COUNT(u) FROM User u WHERE u.role = c.role) " +
+           "WHERE c.role = :role AND c.userCount <> (SELECT COUNT(u) FROM User u WHERE u.role = c.role)")
+    int reconcile(@Param("role") UserRole role);
+}
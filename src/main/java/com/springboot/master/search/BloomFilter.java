@@ -0,0 +1,193 @@
+package com.springboot.master.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings
+ *
+ * Demonstrates:
+ * - Probabilistic set membership: no false negatives, tunable false positives
+ * - Optimal sizing from the expected number of keys and target false-positive rate
+ * - Double hashing (Kirsch-Mitzenmacher) to derive k bit positions from one 128-bit hash
+ * - Concurrent inserts by CAS on the 64-bit words of an AtomicLongArray
+ *
+ * Keys cannot be removed. The filter keeps accepting keys beyond its
+ * expected size, with a rising false-positive rate; {@link #estimatedFalsePositiveRate()}
+ * reports the rate for the current fill.
+ */
+public final class BloomFilter {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * @param expectedInsertions number of keys the target rate is sized for
+     * @param falsePositiveRate  target false-positive rate at that size, in (0, 1)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Add a key
+     *
+     * @return true if at least one bit changed, i.e. the key was definitely not present before
+     */
+    public boolean put(String key) {
+        long[] hash = hash(key);
+        long combined = hash[0];
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitSize;
+            if (setBit(bit)) {
+                changed = true;
+            }
+            combined += hash[1];
+        }
+        return changed;
+    }
+
+    /**
+     * False means the key was never added; true means it probably was
+     */
+    public boolean mightContain(String key) {
+        long[] hash = hash(key);
+        long combined = hash[0];
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitSize;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += hash[1];
+        }
+        return true;
+    }
+
+    /**
+     * False-positive rate for the current fill: (bits set / bits)^k
+     */
+    public double estimatedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+    }
+
+    /**
+     * Approximate number of distinct keys added, from the fill ratio
+     */
+    public long approximateKeyCount() {
+        double fill = (double) bitsSet.get() / bitSize;
+        if (fill >= 1) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) bitSize / hashFunctions * Math.log1p(-fill));
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Heap used by the bit array
+     */
+    public long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private boolean setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(index, word, word | mask));
+        bitsSet.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Two 64-bit halves of a MurmurHash3-style hash over the key's UTF-8 bytes
+     */
+    private static long[] hash(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0;
+        long h2 = 0;
+        int i = 0;
+        for (; i + 16 <= bytes.length; i += 16) {
+            h1 ^= mixK1(readLong(bytes, i));
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(readLong(bytes, i + 8));
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0;
+        long k2 = 0;
+        for (int shift = 0; i < bytes.length; i++, shift += 8) {
+            if (shift < 64) {
+                k1 |= (bytes[i] & 0xffL) << shift;
+            } else {
+                k2 |= (bytes[i] & 0xffL) << (shift - 64);
+            }
+        }
+        h1 ^= mixK1(k1);
+        h2 ^= mixK2(k2);
+        h1 ^= bytes.length;
+        h2 ^= bytes.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[] {h1, h2};
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int b = 7; b >= 0; b--) {
+            value = (value << 8) | (bytes[offset + b] & 0xffL);
+        }
+        return value;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,109 @@
+package com.springboot.master.search;
+
+import com.springboot.master.cache.CacheInvalidation;
+import com.springboot.master.cache.CacheInvalidationBus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shares new usernames and emails with the {@link UserIdentifierFilter} of every other node
+ *
+ * Demonstrates:
+ * - Reusing the cache invalidation bus as a cluster-wide channel under a
+ *   reserved cache name that no CacheManager knows, so cache nodes ignore it
+ * - Batching per transaction: identifiers are collected while the transaction
+ *   runs and sent after commit as one message per field, so a bulk insert
+ *   publishes two messages instead of two per user
+ *
+ * Without a bus (two-tier caching disabled) nothing is sent and each node
+ * only knows its own inserts plus the startup scan. Messages are fire and
+ * forget; a lost one leaves a name reported as available on the other
+ * nodes, which the unique constraints still reject on insert.
+ */
+@Component
+public class UserIdentifierBroadcaster {
+
+    static final String CHANNEL = "userIdentifiers";
+
+    private static final char VALUE_SEPARATOR = '\u001E';
+
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final CacheInvalidationBus bus;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public UserIdentifierBroadcaster(UserIdentifierFilter userIdentifierFilter,
+                                     ObjectProvider<CacheInvalidationBus> bus) {
+        this.userIdentifierFilter = userIdentifierFilter;
+        this.bus = bus.getIfAvailable();
+        if (this.bus != null) {
+            this.bus.subscribe(this::onMessage);
+        }
+    }
+
+    /**
+     * Send the identifiers to the other nodes once the current transaction
+     * commits, or immediately when no transaction is active
+     */
+    public void publish(String username, String email) {
+        if (bus == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(username), List.of(email));
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.usernames.add(username);
+        pending.emails.add(email);
+    }
+
+    private void send(List<String> usernames, List<String> emails) {
+        bus.publish(new CacheInvalidation(nodeId, CHANNEL, "u" + String.join(String.valueOf(VALUE_SEPARATOR), usernames)));
+        bus.publish(new CacheInvalidation(nodeId, CHANNEL, "e" + String.join(String.valueOf(VALUE_SEPARATOR), emails)));
+    }
+
+    private void onMessage(CacheInvalidation message) {
+        if (!CHANNEL.equals(message.cacheName()) || nodeId.equals(message.origin()) || message.isClear()) {
+            return;
+        }
+        String key = message.key();
+        boolean usernames = key.startsWith("u");
+        for (String value : key.substring(1).split(String.valueOf(VALUE_SEPARATOR))) {
+            if (usernames) {
+                userIdentifierFilter.add(value, null);
+            } else {
+                userIdentifierFilter.add(null, value);
+            }
+        }
+    }
+
+    /**
+     * Identifiers written by one transaction, sent after it commits
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        final List<String> usernames = new ArrayList<>();
+        final List<String> emails = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            send(usernames, emails);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UserIdentifierBroadcaster.this);
+        }
+    }
+}
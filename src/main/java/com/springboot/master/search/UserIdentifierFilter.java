@@ -0,0 +1,161 @@
+package com.springboot.master.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Bloom filters over every username and email ever stored
+ *
+ * Demonstrates:
+ * - Answering "is this taken?" from memory when the answer is no, so only
+ *   possible positives reach the database
+ * - Fixed-size filters created before any traffic, so no insert can miss them
+ * - Measured (not just theoretical) false-positive rates as Micrometer gauges
+ *
+ * Keys are lower-cased, which can only add positives; the result stays safe
+ * for databases whose collation compares case-insensitively (MySQL). Keys are
+ * added by {@link UserIdentifierFilterListener} when a user is persisted or
+ * updated and by {@link UserIdentifierFilterLoader} at startup; until the
+ * startup scan finishes {@link #isReady()} is false and callers go to the
+ * database. A renamed user's old name stays in the filter as a false positive.
+ *
+ * Each node keeps its own filters. Users created on other nodes arrive through
+ * {@link UserIdentifierBroadcaster} when the cache invalidation bus is enabled,
+ * otherwise only with the next startup scan. Unique constraints remain the
+ * authority for inserts.
+ */
+@Component
+public class UserIdentifierFilter {
+
+    public enum Field {
+        USERNAME, EMAIL;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Stats usernames;
+    private final Stats emails;
+    private volatile boolean ready;
+
+    public UserIdentifierFilter(MeterRegistry meterRegistry,
+                                @Value("${app.availability.expected-users:1000000}") long expectedUsers,
+                                @Value("${app.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usernames = new Stats(Field.USERNAME, new BloomFilter(expectedUsers, falsePositiveRate), meterRegistry);
+        this.emails = new Stats(Field.EMAIL, new BloomFilter(expectedUsers, falsePositiveRate), meterRegistry);
+    }
+
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.filter.put(normalize(username));
+        }
+        if (email != null) {
+            emails.filter.put(normalize(email));
+        }
+    }
+
+    /**
+     * False means no user has this value; only meaningful once {@link #isReady()}
+     */
+    public boolean mightContain(Field field, String value) {
+        return stats(field).filter.mightContain(normalize(value));
+    }
+
+    /**
+     * Record what the database said about a value the filter reported as possibly present
+     */
+    public void recordPositive(Field field, boolean confirmed) {
+        Stats stats = stats(field);
+        (confirmed ? stats.truePositives : stats.falsePositives).increment();
+    }
+
+    /**
+     * Record a lookup answered by the filter alone
+     */
+    public void recordNegative(Field field) {
+        stats(field).negatives.increment();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    public long memoryBytes() {
+        return usernames.filter.memoryBytes() + emails.filter.memoryBytes();
+    }
+
+    public double estimatedFalsePositiveRate(Field field) {
+        return stats(field).filter.estimatedFalsePositiveRate();
+    }
+
+    public long approximateKeyCount(Field field) {
+        return stats(field).filter.approximateKeyCount();
+    }
+
+    private Stats stats(Field field) {
+        return field == Field.USERNAME ? usernames : emails;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One filter with its lookup counters and gauges
+     */
+    private static final class Stats {
+
+        final BloomFilter filter;
+        final Counter negatives;
+        final Counter falsePositives;
+        final Counter truePositives;
+
+        Stats(Field field, BloomFilter filter, MeterRegistry meterRegistry) {
+            this.filter = filter;
+            this.negatives = lookups(meterRegistry, field, "negative");
+            this.falsePositives = lookups(meterRegistry, field, "false_positive");
+            this.truePositives = lookups(meterRegistry, field, "true_positive");
+            Gauge.builder("app.availability.filter.memory", filter, BloomFilter::memoryBytes)
+                    .description("Heap used by the availability Bloom filter")
+                    .baseUnit("bytes")
+                    .tag("field", field.tag())
+                    .register(meterRegistry);
+            Gauge.builder("app.availability.filter.fpp.estimated", filter, BloomFilter::estimatedFalsePositiveRate)
+                    .description("False-positive rate predicted from the filter's fill ratio")
+                    .tag("field", field.tag())
+                    .register(meterRegistry);
+            Gauge.builder("app.availability.filter.fpp.observed", this, Stats::observedFalsePositiveRate)
+                    .description("Share of absent values the filter reported as possibly present")
+                    .tag("field", field.tag())
+                    .register(meterRegistry);
+        }
+
+        /**
+         * False positives / all lookups of absent values; true positives are not
+         * part of the denominator because they say nothing about the error rate
+         */
+        double observedFalsePositiveRate() {
+            double falsePositive = falsePositives.count();
+            double absent = falsePositive + negatives.count();
+            return absent == 0 ? 0 : falsePositive / absent;
+        }
+
+        private static Counter lookups(MeterRegistry meterRegistry, Field field, String result) {
+            return Counter.builder("app.availability.lookups")
+                    .description("Availability lookups by what answered them")
+                    .tag("field", field.tag())
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
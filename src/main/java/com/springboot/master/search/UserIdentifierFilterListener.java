@@ -0,0 +1,36 @@
+package com.springboot.master.search;
+
+import com.springboot.master.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that adds usernames and emails to {@link UserIdentifierFilter}
+ *
+ * Demonstrates:
+ * - Entity lifecycle callbacks (@PostPersist, @PostUpdate)
+ * - Updating before commit on purpose: a rolled-back insert only leaves a
+ *   false positive, while updating after commit would leave a window in which
+ *   a committed name is reported as available
+ * - Other nodes are told after commit, through {@link UserIdentifierBroadcaster}
+ */
+@Component
+public class UserIdentifierFilterListener {
+
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final UserIdentifierBroadcaster userIdentifierBroadcaster;
+
+    public UserIdentifierFilterListener(UserIdentifierFilter userIdentifierFilter,
+                                        UserIdentifierBroadcaster userIdentifierBroadcaster) {
+        this.userIdentifierFilter = userIdentifierFilter;
+        this.userIdentifierBroadcaster = userIdentifierBroadcaster;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(User user) {
+        userIdentifierFilter.add(user.getUsername(), user.getEmail());
+        userIdentifierBroadcaster.publish(user.getUsername(), user.getEmail());
+    }
+}
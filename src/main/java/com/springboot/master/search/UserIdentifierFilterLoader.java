@@ -0,0 +1,59 @@
+package com.springboot.master.search;
+
+import com.springboot.master.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link UserIdentifierFilter} at startup
+ *
+ * Demonstrates:
+ * - Streaming two columns of a large table with a JDBC fetch size
+ * - Idempotent loading: adding a key twice is harmless, so inserts recorded by
+ *   the entity listener during the scan need no coordination with it
+ */
+@Component
+public class UserIdentifierFilterLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdentifierFilterLoader.class);
+
+    private final UserRepository userRepository;
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserIdentifierFilterLoader(UserRepository userRepository, UserIdentifierFilter userIdentifierFilter,
+                                      PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userIdentifierFilter = userIdentifierFilter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        long rows = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<Object[]> identifiers = userRepository.streamIdentifierRows()) {
+                for (Object[] row : (Iterable<Object[]>) identifiers::iterator) {
+                    userIdentifierFilter.add((String) row[0], (String) row[1]);
+                    count++;
+                }
+            }
+            return count;
+        });
+        userIdentifierFilter.markReady();
+        log.info("Availability filter loaded: {} users, {} KB, estimated false-positive rate {} (username) / {} (email) in {} ms",
+                rows, userIdentifierFilter.memoryBytes() / 1024,
+                String.format("%.4f", userIdentifierFilter.estimatedFalsePositiveRate(UserIdentifierFilter.Field.USERNAME)),
+                String.format("%.4f", userIdentifierFilter.estimatedFalsePositiveRate(UserIdentifierFilter.Field.EMAIL)),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
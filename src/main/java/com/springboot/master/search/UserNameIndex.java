@@ -0,0 +1,190 @@
+package com.springboot.master.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index over user first and last names
+ *
+ * Demonstrates:
+ * - Inverted index (trigram -> user ids) for substring search
+ * - Candidate resolution by intersecting posting lists, smallest first
+ * - Verification and ranking of candidates in memory
+ *
+ * Replaces {@code LIKE '%name%'} scans, which no B-tree index can serve.
+ * The index is kept current by {@link UserNameIndexListener} and rebuilt at
+ * startup by {@link UserNameIndexLoader}; until the rebuild finishes
+ * {@link #isReady()} is false and callers fall back to the database.
+ */
+@Component
+public class UserNameIndex {
+
+    /**
+     * Queries shorter than this cannot be resolved from trigrams
+     */
+    public static final int GRAM = 3;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String[]> documents = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Index or re-index a user's names, replacing any previous entry
+     */
+    public void index(Long id, String firstName, String lastName) {
+        String[] names = {normalize(firstName), normalize(lastName)};
+        documents.compute(id, (key, previous) -> {
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            link(id, names);
+            return names;
+        });
+    }
+
+    /**
+     * Index a user only if it is not indexed yet; used by the startup rebuild so
+     * it never overwrites a newer entry written by the entity listener
+     */
+    public void indexIfAbsent(Long id, String firstName, String lastName) {
+        documents.computeIfAbsent(id, key -> {
+            String[] names = {normalize(firstName), normalize(lastName)};
+            link(id, names);
+            return names;
+        });
+    }
+
+    public void remove(Long id) {
+        documents.computeIfPresent(id, (key, previous) -> {
+            unlink(id, previous);
+            return null;
+        });
+    }
+
+    /**
+     * Resolve, verify and rank the users whose first or last name contains the query
+     *
+     * @return ranked user ids, best match first
+     */
+    public List<Long> search(String query) {
+        String needle = normalize(query);
+        if (needle.length() < GRAM) {
+            throw new IllegalArgumentException("Query must have at least " + GRAM + " characters");
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+
+        // Trigram intersection over-approximates; verify the actual substring and rank
+        List<Ranked> matches = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            String[] names = documents.get(id);
+            if (names == null) {
+                continue;
+            }
+            int best = Integer.MAX_VALUE;
+            int length = Integer.MAX_VALUE;
+            for (String name : names) {
+                int rank = rank(name, needle);
+                if (rank < best || (rank == best && name.length() < length)) {
+                    best = rank;
+                    length = name.length();
+                }
+            }
+            if (best != Integer.MAX_VALUE) {
+                matches.add(new Ranked(id, best, length));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Ranked::rank)
+                .thenComparingInt(Ranked::length)
+                .thenComparingLong(Ranked::id));
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Ranked match : matches) {
+            ids.add(match.id());
+        }
+        return ids;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * 0 = exact, 1 = prefix, 2 = start of a word, 3 = anywhere, MAX = no match
+     */
+    private static int rank(String name, String needle) {
+        int position = name.indexOf(needle);
+        if (position < 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (position == 0) {
+            return name.length() == needle.length() ? 0 : 1;
+        }
+        return Character.isWhitespace(name.charAt(position - 1)) || name.charAt(position - 1) == '-' ? 2 : 3;
+    }
+
+    private void link(Long id, String[] names) {
+        for (String name : names) {
+            for (String gram : trigrams(name)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    private void unlink(Long id, String[] names) {
+        for (String name : names) {
+            for (String gram : trigrams(name)) {
+                postings.computeIfPresent(gram, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Ranked(Long id, int rank, int length) {
+    }
+}
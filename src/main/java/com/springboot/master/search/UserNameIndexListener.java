@@ -0,0 +1,55 @@
+package com.springboot.master.search;
+
+import com.springboot.master.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link UserNameIndex} in sync with the users table
+ *
+ * Demonstrates:
+ * - Entity lifecycle callbacks (@PostPersist, @PostUpdate, @PostRemove)
+ * - Spring-managed entity listeners (Hibernate resolves them from the bean factory)
+ * - Deferring side effects until the transaction commits
+ */
+@Component
+public class UserNameIndexListener {
+
+    private final UserNameIndex userNameIndex;
+
+    public UserNameIndexListener(UserNameIndex userNameIndex) {
+        this.userNameIndex = userNameIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(User user) {
+        Long id = user.getId();
+        String firstName = user.getFirstName();
+        String lastName = user.getLastName();
+        afterCommit(() -> userNameIndex.index(id, firstName, lastName));
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        Long id = user.getId();
+        afterCommit(() -> userNameIndex.remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.springboot.master.search;
+
+import com.springboot.master.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds {@link UserNameIndex} at startup
+ *
+ * Demonstrates:
+ * - Streaming a large table with a JDBC fetch size instead of loading a List
+ * - Pipelining: the reader keeps streaming while chunks are indexed in parallel
+ */
+@Component
+public class UserNameIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(UserNameIndexLoader.class);
+    private static final int CHUNK_SIZE = 5_000;
+
+    private final UserRepository userRepository;
+    private final UserNameIndex userNameIndex;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserNameIndexLoader(UserRepository userRepository, UserNameIndex userNameIndex,
+                               PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userNameIndex = userNameIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = userRepository.streamNameIndexRows()) {
+                List<Object[]> chunk = new ArrayList<>(CHUNK_SIZE);
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    chunk.add(row);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        pending.add(indexAsync(chunk));
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    pending.add(indexAsync(chunk));
+                }
+            }
+        });
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        userNameIndex.markReady();
+        log.info("User name index rebuilt: {} users, {} trigrams in {} ms",
+                userNameIndex.size(), userNameIndex.gramCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private CompletableFuture<Void> indexAsync(List<Object[]> chunk) {
+        return CompletableFuture.runAsync(() -> {
+            for (Object[] row : chunk) {
+                userNameIndex.indexIfAbsent((Long) row[0], (String) row[1], (String) row[2]);
+            }
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.springboot.master.service;
+
+import com.springboot.master.dto.UserResponseDto;
+import com.springboot.master.exception.PreconditionFailedException;
+
+import java.time.ZoneOffset;
+
+/**
+ * Entity tags for conditional GETs and conditional updates
+ *
+ * Demonstrates:
+ * - Strong validators derived from data the response already carries, so
+ *   an If-None-Match check needs no extra query and no serialization
+ * - Reading the expected entity version back out of an If-Match header
+ *
+ * A user's tag is "u&lt;id&gt;-v&lt;version&gt;-&lt;postCount&gt;". The version changes
+ * with every entity update and the post counter is updated by SQL without
+ * touching the version, so both are part of the tag. Representations built
+ * without a version fall back to updatedAt in the middle segment.
+ */
+public final class ETags {
+
+    private static final String GZIP_SUFFIX = "-gz";
+
+    private ETags() {}
+
+    /**
+     * Quoted strong ETag for a user representation
+     */
+    public static String of(UserResponseDto user) {
+        long postCount = user.getPostCount() != null ? user.getPostCount() : 0;
+        return "\"u" + user.getId() + "-" + revision(user) + "-" + postCount + "\"";
+    }
+
+    /**
+     * Entity version named by an If-Match header for the given user, or null
+     * when the header is absent or "*" (any current representation).
+     *
+     * Only the version segment is compared by the caller: a moved post counter
+     * does not make a profile update stale. Weak tags, tags of another user and
+     * tags without a version never match, as If-Match requires strong comparison.
+     */
+    public static Long expectedVersion(String ifMatch, Long userId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"u" + userId + "-v";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match the current representation of user " + userId);
+        }
+        String rest = tag.substring(prefix.length(), tag.length() - 1);
+        if (rest.endsWith(GZIP_SUFFIX)) {
+            rest = rest.substring(0, rest.length() - GZIP_SUFFIX.length());
+        }
+        int separator = rest.indexOf('-');
+        try {
+            return Long.parseLong(separator < 0 ? rest : rest.substring(0, separator));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current representation of user " + userId);
+        }
+    }
+
+    private static String revision(UserResponseDto user) {
+        if (user.getVersion() != null) {
+            return "v" + user.getVersion();
+        }
+        long updatedMicros = 0;
+        if (user.getUpdatedAt() != null) {
+            var instant = user.getUpdatedAt().toInstant(ZoneOffset.UTC);
+            updatedMicros = instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+        }
+        return Long.toString(updatedMicros, 36);
+    }
+}
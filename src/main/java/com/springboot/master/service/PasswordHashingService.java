@@ -0,0 +1,148 @@
+package com.springboot.master.service;
+
+import com.springboot.master.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Password Hashing Service
+ *
+ * Demonstrates:
+ * - Offloading CPU-bound work (BCrypt) to a dedicated, CPU-sized executor
+ * - Backpressure with a bounded queue and fast 503 rejection
+ * - Micrometer timers and gauges for queue depth and latency
+ *
+ * BCrypt at cost 12 takes a few hundred milliseconds of CPU. Running it on
+ * request threads lets a burst of sign-ups occupy every Tomcat thread; doing
+ * it inside a transaction also pins a pooled connection. Callers hash here
+ * first and only then open their transaction.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.hashing.threads:0}") int threads,
+                                  @Value("${app.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.hashing.timeout:10s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // A capacity of 0 means no waiting at all: hand off to an idle worker or reject
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                queue, new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("app.password.hash")
+                .description("Time spent computing a password hash")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("app.password.hash.queue.wait")
+                .description("Time a hashing task waited for a worker")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("app.password.hash.rejected")
+                .description("Hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("app.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("app.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing tasks currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hash one password on the hashing executor
+     *
+     * @throws ServiceUnavailableException when the queue is full or the hash does not finish in time
+     */
+    public String encode(String rawPassword) {
+        return await(submit(rawPassword));
+    }
+
+    /**
+     * Hash several passwords, keeping at most one task per worker in flight so a
+     * bulk request cannot monopolise the shared queue
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        int window = executor.getMaximumPoolSize();
+        for (int from = 0; from < rawPasswords.size(); from += window) {
+            List<Future<String>> inFlight = new ArrayList<>(window);
+            for (String raw : rawPasswords.subList(from, Math.min(from + window, rawPasswords.size()))) {
+                inFlight.add(submit(raw));
+            }
+            for (Future<String> future : inFlight) {
+                hashes.add(await(future));
+            }
+        }
+        return hashes;
+    }
+
+    private Future<String> submit(String rawPassword) {
+        long enqueued = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(() -> passwordEncoder.encode(rawPassword));
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Password hashing capacity exhausted, retry shortly", RETRY_AFTER_SECONDS, ex);
+        }
+    }
+
+    private String await(Future<String> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Password hashing timed out", RETRY_AFTER_SECONDS, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Password hashing interrupted", RETRY_AFTER_SECONDS, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,179 @@
+package com.springboot.master.service;
+
+import com.springboot.master.dto.CreatePostDto;
+import com.springboot.master.dto.PostResponseDto;
+import com.springboot.master.entity.Post;
+import com.springboot.master.entity.User;
+import com.springboot.master.exception.ResourceNotFoundException;
+import com.springboot.master.repository.PostRepository;
+import com.springboot.master.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Post Service Class
+ * 
+ * Demonstrates:
+ * - Loading a page of entities together with their many-to-one side (entity graph)
+ * - Caching the hottest pages of a read-heavy feed
+ * - Coarse cache invalidation (allEntries) when any feed content changes
+ *
+ * Only the first CACHED_FEED_PAGES pages of the global published feed are
+ * cached, keyed by page and size, in the "posts" cache. Deeper pages are rare
+ * and would mostly churn the cache. Any create-as-published, edit, publish or
+ * delete clears the whole cache; the eviction runs after the transaction
+ * commits because caching advice wraps the transactional advice. Author name
+ * changes are picked up when cached pages expire (app.cache.specs.posts).
+ *
+ * Creating or deleting a post adjusts the author's denormalized post count
+ * in the same transaction and evicts the author from the "users" and
+ * "usersJson" caches.
+ */
+@Service
+@Transactional
+public class PostService {
+
+    /**
+     * Feed pages with a lower index are served from the "posts" cache
+     */
+    public static final int CACHED_FEED_PAGES = 5;
+
+    /**
+     * Newest first; id breaks ties between posts created in the same instant
+     */
+    private static final Sort FEED_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public PostService(PostRepository postRepository, UserRepository userRepository) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Create a new post
+     * Demonstrates: Validation of the owning side, conditional cache eviction
+     */
+    @Caching(evict = {
+        @CacheEvict(value = "posts", allEntries = true, condition = "#createPostDto.published == true"),
+        @CacheEvict(value = {"users", "usersJson"}, key = "#createPostDto.authorId")
+    })
+    public PostResponseDto createPost(CreatePostDto createPostDto) {
+        User author = userRepository.findById(createPostDto.getAuthorId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + createPostDto.getAuthorId()));
+
+        Post post = new Post(createPostDto.getTitle(), createPostDto.getContent(), author);
+        post.setIsPublished(Boolean.TRUE.equals(createPostDto.getPublished()));
+        Post savedPost = postRepository.save(post);
+        userRepository.adjustPostCount(author.getId(), 1);
+        return mapToResponseDto(savedPost);
+    }
+
+    /**
+     * Get post by ID
+     * Demonstrates: Entity graph on a single-row lookup
+     */
+    @Transactional(readOnly = true)
+    public PostResponseDto getPostById(Long id) {
+        return postRepository.findWithUserById(id)
+                .map(PostService::mapToResponseDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+    }
+
+    /**
+     * Get a page of the global published feed
+     * Demonstrates: Conditional caching of the first pages
+     */
+    @Cacheable(value = "posts", key = "'feed:' + #page + ':' + #size",
+               condition = "#page < T(com.springboot.master.service.PostService).CACHED_FEED_PAGES")
+    @Transactional(readOnly = true)
+    public Page<PostResponseDto> getPublishedFeed(int page, int size) {
+        return postRepository.findPublishedFeed(PageRequest.of(page, size, FEED_SORT))
+                .map(PostService::mapToResponseDto);
+    }
+
+    /**
+     * Get a page of one author's published posts
+     */
+    @Transactional(readOnly = true)
+    public Page<PostResponseDto> getPublishedPostsByAuthor(Long userId, int page, int size) {
+        return postRepository.findPublishedPageByUserId(userId, PageRequest.of(page, size, FEED_SORT))
+                .map(PostService::mapToResponseDto);
+    }
+
+    /**
+     * Update title and content; the author never changes
+     * Demonstrates: Cache eviction on edit
+     */
+    @CacheEvict(value = "posts", allEntries = true)
+    public PostResponseDto updatePost(Long id, CreatePostDto updateDto) {
+        Post post = findPost(id);
+        post.setTitle(updateDto.getTitle());
+        post.setContent(updateDto.getContent());
+        if (updateDto.getPublished() != null) {
+            post.setIsPublished(updateDto.getPublished());
+        }
+        return mapToResponseDto(postRepository.save(post));
+    }
+
+    /**
+     * Publish a draft
+     * Demonstrates: Cache eviction on state change
+     */
+    @CacheEvict(value = "posts", allEntries = true)
+    public PostResponseDto publishPost(Long id) {
+        Post post = findPost(id);
+        post.setIsPublished(true);
+        return mapToResponseDto(postRepository.save(post));
+    }
+
+    /**
+     * Delete post and return what was deleted
+     * Demonstrates: Evicting by a key taken from the result (#result)
+     */
+    @Caching(evict = {
+        @CacheEvict(value = "posts", allEntries = true),
+        @CacheEvict(value = {"users", "usersJson"}, key = "#result.authorId")
+    })
+    public PostResponseDto deletePost(Long id) {
+        Post post = findPost(id);
+        PostResponseDto deleted = mapToResponseDto(post);
+        postRepository.delete(post);
+        userRepository.adjustPostCount(deleted.getAuthorId(), -1);
+        return deleted;
+    }
+
+    private Post findPost(Long id) {
+        return postRepository.findWithUserById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+    }
+
+    /**
+     * Helper method to map Entity to DTO
+     * Expects the author to be loaded already (entity graph or same persistence context).
+     */
+    static PostResponseDto mapToResponseDto(Post post) {
+        User author = post.getUser();
+        return new PostResponseDto(
+            post.getId(),
+            post.getTitle(),
+            post.getContent(),
+            post.getIsPublished(),
+            author.getId(),
+            author.getUsername(),
+            author.getFirstName(),
+            author.getLastName(),
+            post.getCreatedAt(),
+            post.getUpdatedAt()
+        );
+    }
+}
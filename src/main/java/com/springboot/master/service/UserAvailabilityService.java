@@ -0,0 +1,68 @@
+package com.springboot.master.service;
+
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.search.UserIdentifierFilter;
+import com.springboot.master.search.UserIdentifierFilter.Field;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Username and email availability
+ *
+ * Demonstrates:
+ * - A Bloom filter in front of the database: values the filter has never
+ *   seen are answered from memory, only possible positives are queried
+ * - No @Transactional, so the negative path never borrows a connection
+ *
+ * Before the filter has finished loading every lookup goes to the database.
+ * An "available" answer is advisory; the unique constraints still decide
+ * when the user is actually inserted.
+ */
+@Service
+public class UserAvailabilityService {
+
+    private final UserRepository userRepository;
+    private final UserIdentifierFilter userIdentifierFilter;
+
+    public UserAvailabilityService(UserRepository userRepository, UserIdentifierFilter userIdentifierFilter) {
+        this.userRepository = userRepository;
+        this.userIdentifierFilter = userIdentifierFilter;
+    }
+
+    public boolean isUsernameTaken(String username) {
+        return isTaken(Field.USERNAME, username, userRepository::existsByUsername);
+    }
+
+    public boolean isEmailTaken(String email) {
+        return isTaken(Field.EMAIL, email, userRepository::existsByEmail);
+    }
+
+    /**
+     * The values that may already be in use; the rest are certainly free.
+     * Used to shrink the set-based duplicate queries of bulk creation.
+     */
+    public List<String> possiblyTaken(Field field, Collection<String> values) {
+        if (!userIdentifierFilter.isReady()) {
+            return List.copyOf(values);
+        }
+        return values.stream()
+                .filter(value -> userIdentifierFilter.mightContain(field, value))
+                .toList();
+    }
+
+    private boolean isTaken(Field field, String value, Predicate<String> exists) {
+        if (!userIdentifierFilter.isReady()) {
+            return exists.test(value);
+        }
+        if (!userIdentifierFilter.mightContain(field, value)) {
+            userIdentifierFilter.recordNegative(field);
+            return false;
+        }
+        boolean taken = exists.test(value);
+        userIdentifierFilter.recordPositive(field, taken);
+        return taken;
+    }
+}
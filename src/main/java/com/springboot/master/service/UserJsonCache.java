@@ -0,0 +1,92 @@
+package com.springboot.master.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.master.dto.UserResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response-level cache of serialized users
+ *
+ * Demonstrates:
+ * - Caching the encoded response instead of the object, so a hit costs a byte
+ *   copy instead of a Jackson pass (including LocalDateTime formatting)
+ * - Storing a pre-compressed variant for clients that accept gzip
+ * - Keeping the ETag next to the bytes so conditional GETs need no recomputation
+ *
+ * Entries live in the "usersJson" cache under the user id, the same key as the
+ * "users" cache, and are evicted together with it (UserService update/delete,
+ * PostService post count changes). A miss here still goes through the cached
+ * {@link UserService#getUserById}, so the database is only hit when both miss.
+ */
+@Service
+public class UserJsonCache {
+
+    /**
+     * Cached representation of one user
+     *
+     * @param json UTF-8 JSON as the API would write it
+     * @param gzip gzip-compressed JSON, or null when the JSON is below the compression threshold
+     * @param eTag strong ETag of the JSON representation
+     */
+    public record Entry(byte[] json, byte[] gzip, String eTag) implements Serializable {
+
+        /**
+         * Strong ETag of the gzip representation; different bytes need a different tag
+         */
+        public String gzipETag() {
+            return eTag.substring(0, eTag.length() - 1) + "-gz\"";
+        }
+    }
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+
+    public UserJsonCache(UserService userService, ObjectMapper objectMapper,
+                         @Value("${app.cache.users-json.gzip-min-bytes:512}") int gzipMinBytes) {
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Get a user as serialized JSON
+     * Demonstrates: @Cacheable on byte-level representations
+     */
+    @Cacheable(value = "usersJson", key = "#id")
+    public Entry getUserJson(Long id) {
+        return encode(userService.getUserById(id), objectMapper, gzipMinBytes);
+    }
+
+    /**
+     * Serialize a user with the application's ObjectMapper, compressing when worthwhile
+     */
+    public static Entry encode(UserResponseDto user, ObjectMapper objectMapper, int gzipMinBytes) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(user);
+            byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+            return new Entry(json, gzip, ETags.of(user));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize user " + user.getId(), ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,124 @@
+package com.springboot.master.service;
+
+import com.springboot.master.entity.UserRole;
+import com.springboot.master.entity.UserRoleCount;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.repository.UserRoleCountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintained user counts per role
+ *
+ * Demonstrates:
+ * - Serving counts from a counter row (primary key lookup) instead of COUNT(*)
+ * - Adjusting the counter in the caller's transaction with Propagation.MANDATORY,
+ *   so the counter commits or rolls back together with the user rows
+ * - Seeding missing rows at startup and repairing drift on a schedule
+ *
+ * Counts include inactive users, matching the former COUNT query over
+ * users.role; soft deletes therefore leave the counter unchanged.
+ */
+@Component
+public class UserRoleCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRoleCounter.class);
+
+    private final UserRoleCountRepository userRoleCountRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter correctedRows;
+
+    public UserRoleCounter(UserRoleCountRepository userRoleCountRepository, UserRepository userRepository,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.userRoleCountRepository = userRoleCountRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.correctedRows = Counter.builder("app.role.count.corrected")
+                .description("Role counter rows that had drifted and were corrected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Current number of users with the given role
+     */
+    @Transactional(readOnly = true)
+    public long count(UserRole role) {
+        return userRoleCountRepository.findCountByRole(role).orElse(0L);
+    }
+
+    /**
+     * Add delta to a role's counter; must run inside the transaction that changed the users
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(UserRole role, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (userRoleCountRepository.adjust(role, delta) == 0) {
+            // Row not seeded yet (startup still in progress); the next reconcile counts this user
+            logger.debug("No counter row for role {}, adjustment of {} deferred to reconcile", role, delta);
+        }
+    }
+
+    /**
+     * Move one user's contribution from one role to another
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(UserRole from, UserRole to) {
+        if (from != to) {
+            adjust(from, -1);
+            adjust(to, 1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        for (UserRole role : UserRole.values()) {
+            if (userRoleCountRepository.existsById(role)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRoleCountRepository.saveAndFlush(
+                        new UserRoleCount(role, userRepository.countByRole(role))));
+            } catch (DataIntegrityViolationException ex) {
+                // Another node seeded the row first
+                logger.debug("Counter row for role {} already created", role);
+            }
+        }
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${app.role-count.reconcile-initial-delay:PT5M}",
+               fixedDelayString = "${app.role-count.reconcile-interval:PT1H}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recompute every role's counter from the users table; returns the number of corrected rows
+     */
+    public int reconcile() {
+        int corrected = 0;
+        for (UserRole role : UserRole.values()) {
+            Integer updated = transactionTemplate.execute(status -> userRoleCountRepository.reconcile(role));
+            corrected += updated != null ? updated : 0;
+        }
+        if (corrected > 0) {
+            correctedRows.increment(corrected);
+            logger.warn("Corrected user counts for {} roles", corrected);
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,94 @@
+package com.springboot.master.service;
+
+import com.springboot.master.datasource.RoutingContext;
+import com.springboot.master.dto.CursorPage;
+import com.springboot.master.dto.UserResponseDto;
+import com.springboot.master.entity.UserRole;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Cache of role listing pages with per-role invalidation
+ *
+ * Demonstrates:
+ * - Generational cache keys: pages are stored under "role:generation:cursor:size",
+ *   and invalidating a role means replacing its generation, which orphans every
+ *   cached page of that role in O(1) without scanning keys
+ * - Invalidation deferred to afterCommit, so readers never cache a page loaded
+ *   before the change became visible under the new generation
+ * - Loading misses from the primary, so a lagging replica cannot put a stale
+ *   page under the new generation ({@link RoutingContext#beginCacheLoad()})
+ *
+ * The generation lives in the same cache as the pages, so with the two-tier
+ * cache a bump on one node is seen by all nodes. Orphaned pages age out
+ * through the cache's size bound and TTL. If a generation entry is evicted,
+ * the next reader draws a new random one, which only costs extra misses.
+ */
+@Component
+public class UserRoleListingCache {
+
+    public static final String CACHE_NAME = "usersByRole";
+
+    private final Cache cache;
+
+    public UserRoleListingCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Cache not configured: " + CACHE_NAME);
+    }
+
+    /**
+     * Cached page for the role, loaded on a miss
+     */
+    public CursorPage<UserResponseDto> get(UserRole role, String cursor, int size,
+                                           Supplier<CursorPage<UserResponseDto>> loader) {
+        String key = role + ":" + generation(role) + ":" + (cursor == null ? "" : cursor) + ":" + size;
+        return cache.get(key, () -> {
+            boolean previous = RoutingContext.beginCacheLoad();
+            try {
+                return loader.get();
+            } finally {
+                RoutingContext.endCacheLoad(previous);
+            }
+        });
+    }
+
+    /**
+     * Drop every cached page of the given roles once the current transaction
+     * commits, or immediately when no transaction is active
+     */
+    public void invalidateAfterCommit(Collection<UserRole> roles) {
+        Set<UserRole> affected = roles.isEmpty() ? EnumSet.noneOf(UserRole.class) : EnumSet.copyOf(roles);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            affected.forEach(this::invalidate);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                affected.forEach(UserRoleListingCache.this::invalidate);
+            }
+        });
+    }
+
+    public void invalidate(UserRole role) {
+        cache.put(generationKey(role), ThreadLocalRandom.current().nextLong());
+    }
+
+    private long generation(UserRole role) {
+        Long generation = cache.get(generationKey(role), () -> ThreadLocalRandom.current().nextLong());
+        return generation != null ? generation : 0L;
+    }
+
+    private static String generationKey(UserRole role) {
+        return "gen:" + role;
+    }
+}
@@ -1,23 +1,59 @@
 package com.springboot.master.service;
 
+import com.springboot.master.cache.Coalesced;
+import com.springboot.master.dto.BatchCreateResponseDto;
+import com.springboot.master.dto.BatchCreateResultDto;
 import com.springboot.master.dto.CreateUserDto;
+import com.springboot.master.dto.CursorPage;
+import com.springboot.master.dto.KeysetCursor;
+import com.springboot.master.dto.UserPatchDto;
 import com.springboot.master.dto.UserResponseDto;
 import com.springboot.master.entity.User;
 import com.springboot.master.entity.UserRole;
+import com.springboot.master.exception.BadRequestException;
 import com.springboot.master.exception.ResourceNotFoundException;
 import com.springboot.master.exception.DuplicateResourceException;
+import com.springboot.master.exception.PreconditionFailedException;
 import com.springboot.master.repository.UserRepository;
+import com.springboot.master.search.UserIdentifierFilter;
+import com.springboot.master.search.UserNameIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * User Service Class
@@ -27,49 +63,210 @@ import java.util.stream.Collectors;
  * - Dependency injection with @Autowired
  * - Transaction management with @Transactional
  * - Caching with @Cacheable and @CacheEvict
+ * - Single-flight coalescing of concurrent identical reads with @Coalesced
+ * - Cached role listings invalidated per role, and maintained role counters
  * - Exception handling
  * - DTO mapping
  * - Business logic separation
+ * - Bulk inserts with JDBC batching
+ * - Constant-memory streaming exports
+ * - Sparse (JSON Merge Patch) updates that write only the changed columns
  */
 @Service
 @Transactional
 public class UserService {
 
+    /**
+     * Upper bound for client-requested page sizes
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Upper bound for a single bulk creation request
+     */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Rows flushed per JDBC batch; keep in sync with spring.jpa.properties.hibernate.jdbc.batch_size
+     */
+    private static final int INSERT_BATCH_SIZE = 50;
+
+    /**
+     * Values per IN (...) list in set-based duplicate checks
+     */
+    private static final int IN_CLAUSE_CHUNK = 1_000;
+
+    /**
+     * Rows written between flushes of the export stream
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 1_000;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserNameIndex userNameIndex;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserRoleCounter userRoleCounter;
+    private final UserRoleListingCache roleListingCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final UserAvailabilityService userAvailabilityService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordHashingService passwordHashingService, UserNameIndex userNameIndex,
+                       Validator validator, PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper, UserRoleCounter userRoleCounter,
+                       UserRoleListingCache roleListingCache, UserAvailabilityService userAvailabilityService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.userNameIndex = userNameIndex;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.userRoleCounter = userRoleCounter;
+        this.roleListingCache = roleListingCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.userAvailabilityService = userAvailabilityService;
     }
 
     /**
      * Create a new user
-     * Demonstrates: Input validation, password encoding, duplicate checking
+     * Demonstrates: Input validation, password encoding, duplicate checking.
+     * The password is hashed on the bounded hashing executor before the insert
+     * transaction opens, so no connection is held during BCrypt.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponseDto createUser(CreateUserDto createUserDto) {
-        // Check for duplicates
-        if (userRepository.existsByUsername(createUserDto.getUsername())) {
+        // Check for duplicates; values the availability filter has never seen skip the query
+        if (userAvailabilityService.isUsernameTaken(createUserDto.getUsername())) {
             throw new DuplicateResourceException("Username already exists: " + createUserDto.getUsername());
         }
         
-        if (userRepository.existsByEmail(createUserDto.getEmail())) {
+        if (userAvailabilityService.isEmailTaken(createUserDto.getEmail())) {
             throw new DuplicateResourceException("Email already exists: " + createUserDto.getEmail());
         }
 
+        String passwordHash = passwordHashingService.encode(createUserDto.getPassword());
+
         // Create and save user
         User user = new User(
             createUserDto.getUsername(),
             createUserDto.getEmail(),
-            passwordEncoder.encode(createUserDto.getPassword()),
+            passwordHash,
             createUserDto.getFirstName(),
             createUserDto.getLastName(),
             createUserDto.getAge()
         );
 
-        User savedUser = userRepository.save(user);
-        return mapToResponseDto(savedUser);
+        try {
+            User savedUser = transactionTemplate.execute(status -> {
+                User saved = userRepository.saveAndFlush(user);
+                userRoleCounter.adjust(saved.getRole(), 1);
+                return saved;
+            });
+            roleListingCache.invalidateAfterCommit(List.of(savedUser.getRole()));
+            return mapToResponseDto(savedUser);
+        } catch (DataIntegrityViolationException ex) {
+            // Another request inserted the same username or email between the check and the insert
+            throw translateUniqueViolation(ex, createUserDto.getUsername(), createUserDto.getEmail());
+        }
+    }
+
+    /**
+     * Create many users in one call
+     * Demonstrates: Per-item validation, set-based duplicate checks, JDBC batch inserts.
+     * Runs without an outer transaction so validation, duplicate lookups and password
+     * hashing do not pin a connection; only the inserts share one transaction, flushed
+     * and cleared every INSERT_BATCH_SIZE rows.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchCreateResponseDto createUsers(List<CreateUserDto> createUserDtos) {
+        if (createUserDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch size " + createUserDtos.size() + " exceeds the limit of " + MAX_BATCH_SIZE);
+        }
+        BatchCreateResultDto[] results = new BatchCreateResultDto[createUserDtos.size()];
+
+        // 1. Bean validation and duplicates within the batch itself
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> batchUsernames = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < createUserDtos.size(); i++) {
+            CreateUserDto dto = createUserDtos.get(i);
+            Set<ConstraintViolation<CreateUserDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = BatchCreateResultDto.rejected(i, BatchCreateResultDto.Status.INVALID, dto.getUsername(), message);
+            } else if (batchUsernames.contains(dto.getUsername())) {
+                results[i] = BatchCreateResultDto.rejected(i, BatchCreateResultDto.Status.DUPLICATE, dto.getUsername(),
+                        "Username appears more than once in batch: " + dto.getUsername());
+            } else if (batchEmails.contains(dto.getEmail())) {
+                results[i] = BatchCreateResultDto.rejected(i, BatchCreateResultDto.Status.DUPLICATE, dto.getUsername(),
+                        "Email appears more than once in batch: " + dto.getEmail());
+            } else {
+                batchUsernames.add(dto.getUsername());
+                batchEmails.add(dto.getEmail());
+                candidates.add(i);
+            }
+        }
+
+        // 2. One set-based query per key type instead of two exists queries per row,
+        //    limited to the values the availability filter may have seen
+        Set<String> existingUsernames = findExisting(
+                userAvailabilityService.possiblyTaken(UserIdentifierFilter.Field.USERNAME,
+                        candidates.stream().map(i -> createUserDtos.get(i).getUsername()).toList()),
+                userRepository::findExistingUsernames);
+        Set<String> existingEmails = findExisting(
+                userAvailabilityService.possiblyTaken(UserIdentifierFilter.Field.EMAIL,
+                        candidates.stream().map(i -> createUserDtos.get(i).getEmail()).toList()),
+                userRepository::findExistingEmails);
+        List<Integer> accepted = new ArrayList<>();
+        for (Integer i : candidates) {
+            CreateUserDto dto = createUserDtos.get(i);
+            if (existingUsernames.contains(dto.getUsername())) {
+                results[i] = BatchCreateResultDto.rejected(i, BatchCreateResultDto.Status.DUPLICATE, dto.getUsername(),
+                        "Username already exists: " + dto.getUsername());
+            } else if (existingEmails.contains(dto.getEmail())) {
+                results[i] = BatchCreateResultDto.rejected(i, BatchCreateResultDto.Status.DUPLICATE, dto.getUsername(),
+                        "Email already exists: " + dto.getEmail());
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // 3. Hash on the bounded hashing executor, outside of any transaction
+        List<String> hashes = passwordHashingService.encodeAll(
+                accepted.stream().map(i -> createUserDtos.get(i).getPassword()).toList());
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int n = 0; n < accepted.size(); n++) {
+            CreateUserDto dto = createUserDtos.get(accepted.get(n));
+            users.add(new User(dto.getUsername(), dto.getEmail(), hashes.get(n),
+                    dto.getFirstName(), dto.getLastName(), dto.getAge()));
+        }
+
+        // 4. Batched inserts; pooled sequence ids let Hibernate group the INSERTs
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < users.size(); from += INSERT_BATCH_SIZE) {
+                userRepository.saveAll(users.subList(from, Math.min(from + INSERT_BATCH_SIZE, users.size())));
+                entityManager.flush();
+                entityManager.clear();
+            }
+            users.stream()
+                    .collect(Collectors.groupingBy(User::getRole, () -> new EnumMap<>(UserRole.class), Collectors.counting()))
+                    .forEach(userRoleCounter::adjust);
+        });
+        roleListingCache.invalidateAfterCommit(users.stream().map(User::getRole).toList());
+        for (int n = 0; n < accepted.size(); n++) {
+            int i = accepted.get(n);
+            results[i] = BatchCreateResultDto.created(i, users.get(n).getUsername(), users.get(n).getId());
+        }
+        return new BatchCreateResponseDto(List.of(results));
     }
 
     /**
@@ -77,6 +274,7 @@ public class UserService {
      * Demonstrates: Caching, exception handling
      */
     @Cacheable(value = "users", key = "#id")
+    @Coalesced
     @Transactional(readOnly = true)
     public UserResponseDto getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -86,69 +284,171 @@ public class UserService {
 
     /**
      * Get all users with pagination
-     * Demonstrates: Pagination, DTO mapping
+     * Demonstrates: Pagination, DTO constructor projection
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<UserResponseDto> getAllUsers(Pageable pageable) {
-        Page<User> users = userRepository.findAll(pageable);
-        return users.map(this::mapToResponseDto);
+        return userRepository.findAllResponses(pageable);
     }
 
     /**
-     * Get users by role
-     * Demonstrates: Query methods, stream processing
+     * Get users by role, newest first, using keyset pagination
+     * Demonstrates: Per-role page caching, seek pagination with filtering.
+     * Runs without a transaction so cache hits never borrow a connection;
+     * misses load the page in a short read-only transaction.
+     */
+    @Coalesced
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPage<UserResponseDto> getUsersByRole(UserRole role, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return roleListingCache.get(role, cursor, limit, () -> readOnlyTransaction.execute(status -> {
+            Pageable fetch = PageRequest.of(0, limit + 1);
+            List<UserResponseDto> users = after == null
+                    ? userRepository.findRoleKeysetFirstPage(role, fetch)
+                    : userRepository.findRoleKeysetPageBefore(role, after.createdAt(), after.id(), fetch);
+            return toCursorPage(users, limit);
+        }));
+    }
+
+    /**
+     * Number of users with the given role
+     * Demonstrates: Maintained counter instead of COUNT(*)
      */
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getUsersByRole(UserRole role) {
-        List<User> users = userRepository.findByRole(role);
-        return users.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+    public long countUsersByRole(UserRole role) {
+        return userRoleCounter.count(role);
+    }
+
+    /**
+     * Change a user's role
+     * Demonstrates: Counter and listing maintenance for both the old and the new role
+     */
+    @CacheEvict(value = {"users", "usersJson"}, key = "#id")
+    public UserResponseDto changeUserRole(Long id, UserRole role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        UserRole previous = user.getRole();
+        if (previous != role) {
+            user.setRole(role);
+            userRoleCounter.move(previous, role);
+            roleListingCache.invalidateAfterCommit(List.of(previous, role));
+        }
+        return mapToResponseDto(userRepository.save(user));
     }
 
     /**
      * Update user and evict cache
-     * Demonstrates: Cache eviction, partial updates
+     * Demonstrates: Cache eviction, optimistic locking, constraint-based uniqueness.
+     * Two round trips: the load and one versioned UPDATE. Username and email
+     * uniqueness is left to the database constraints instead of pre-check
+     * queries, which also closes the check-then-act race between concurrent
+     * updates. A non-null expectedVersion (from If-Match) must match the
+     * loaded version; a concurrent update between load and flush fails the
+     * version check of the UPDATE itself.
      */
-    @CacheEvict(value = "users", key = "#id")
-    public UserResponseDto updateUser(Long id, CreateUserDto updateDto) {
+    @CacheEvict(value = {"users", "usersJson"}, key = "#id")
+    public UserResponseDto updateUser(Long id, CreateUserDto updateDto, Long expectedVersion) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new PreconditionFailedException("User " + id + " is at version " + existingUser.getVersion()
+                    + ", not " + expectedVersion);
+        }
 
-        // Update fields
         existingUser.setFirstName(updateDto.getFirstName());
         existingUser.setLastName(updateDto.getLastName());
         existingUser.setAge(updateDto.getAge());
+        existingUser.setUsername(updateDto.getUsername());
+        existingUser.setEmail(updateDto.getEmail());
 
-        // Check for username/email conflicts only if they're being changed
-        if (!existingUser.getUsername().equals(updateDto.getUsername())) {
-            if (userRepository.existsByUsername(updateDto.getUsername())) {
-                throw new DuplicateResourceException("Username already exists: " + updateDto.getUsername());
-            }
-            existingUser.setUsername(updateDto.getUsername());
+        User savedUser;
+        try {
+            // Flush now so a constraint violation is raised here rather than at commit
+            savedUser = userRepository.saveAndFlush(existingUser);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateUniqueViolation(ex, updateDto.getUsername(), updateDto.getEmail());
         }
+        // Listing pages embed the profile fields, so only this user's role is refreshed
+        roleListingCache.invalidateAfterCommit(List.of(savedUser.getRole()));
+        return mapToResponseDto(savedUser);
+    }
 
-        if (!existingUser.getEmail().equals(updateDto.getEmail())) {
-            if (userRepository.existsByEmail(updateDto.getEmail())) {
-                throw new DuplicateResourceException("Email already exists: " + updateDto.getEmail());
-            }
-            existingUser.setEmail(updateDto.getEmail());
+    /**
+     * Outcome of a patch; changed is false when the patch matched the stored values
+     */
+    public record PatchResult(UserResponseDto user, boolean changed) {}
+
+    /**
+     * Apply a JSON Merge Patch to a user
+     * Demonstrates: Column-level updates, selective cache eviction.
+     * Only members that differ from the stored values are set, so with
+     * {@code @DynamicUpdate} the UPDATE lists just those columns plus version
+     * and updated_at. Name and age edits leave the username/email columns and
+     * their unique indexes alone and need no uniqueness check; username and
+     * email changes rely on the constraints as in updateUser. A patch that
+     * changes nothing issues no UPDATE and evicts nothing.
+     */
+    @CacheEvict(value = {"users", "usersJson"}, key = "#id", condition = "#result.changed()")
+    public PatchResult patchUser(Long id, UserPatchDto patch, Long expectedVersion) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User " + id + " is at version " + user.getVersion()
+                    + ", not " + expectedVersion);
         }
 
-        User savedUser = userRepository.save(existingUser);
-        return mapToResponseDto(savedUser);
+        boolean changed = false;
+        if (patch.has("username") && !patch.getUsername().equals(user.getUsername())) {
+            user.setUsername(patch.getUsername());
+            changed = true;
+        }
+        if (patch.has("email") && !patch.getEmail().equals(user.getEmail())) {
+            user.setEmail(patch.getEmail());
+            changed = true;
+        }
+        if (patch.has("firstName") && !patch.getFirstName().equals(user.getFirstName())) {
+            user.setFirstName(patch.getFirstName());
+            changed = true;
+        }
+        if (patch.has("lastName") && !patch.getLastName().equals(user.getLastName())) {
+            user.setLastName(patch.getLastName());
+            changed = true;
+        }
+        if (patch.has("age") && !Objects.equals(patch.getAge(), user.getAge())) {
+            user.setAge(patch.getAge());
+            changed = true;
+        }
+        if (!changed) {
+            return new PatchResult(mapToResponseDto(user), false);
+        }
+
+        User savedUser;
+        try {
+            // Flush now so a constraint violation or a concurrent edit is raised here rather than at commit
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateUniqueViolation(ex, patch.getUsername(), patch.getEmail());
+        }
+        // Listing pages embed the profile fields, so only this user's role is refreshed
+        roleListingCache.invalidateAfterCommit(List.of(savedUser.getRole()));
+        return new PatchResult(mapToResponseDto(savedUser), true);
     }
 
     /**
      * Delete user and evict cache
      * Demonstrates: Cache eviction, soft delete option
      */
-    @CacheEvict(value = "users", key = "#id")
+    @CacheEvict(value = {"users", "usersJson"}, key = "#id")
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
         // Soft delete - just deactivate the user
+        if (Boolean.TRUE.equals(user.getIsActive())) {
+            roleListingCache.invalidateAfterCommit(List.of(user.getRole()));
+        }
         user.setIsActive(false);
         userRepository.save(user);
         
@@ -157,31 +457,165 @@ public class UserService {
 
     /**
      * Search users by name
-     * Demonstrates: Custom query methods
+     * Demonstrates: Index-backed search, ranking, pagination without COUNT.
+     * Candidates come from the in-memory trigram index; only the requested page
+     * is loaded from the database. Terms shorter than a trigram, or searches
+     * while the index is still being rebuilt, fall back to a paginated LIKE query.
      */
+    @Coalesced
     @Transactional(readOnly = true)
-    public List<UserResponseDto> searchUsersByName(String name) {
-        List<User> users = userRepository.findByFirstNameOrLastNameContaining(name);
-        return users.stream()
-                .map(this::mapToResponseDto)
+    public Page<UserResponseDto> searchUsersByName(String name, Pageable pageable) {
+        if (!userNameIndex.isReady() || name.trim().length() < UserNameIndex.GRAM) {
+            // Trimmed like the index normalizes terms
+            return userRepository.searchResponses(name.trim(), pageable);
+        }
+        List<Long> rankedIds = userNameIndex.search(name);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, UserResponseDto> loaded = userRepository.findResponsesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(UserResponseDto::getId, Function.identity()));
+        List<UserResponseDto> content = pageIds.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, rankedIds.size());
     }
 
     /**
      * Get active users with pagination
      * Demonstrates: Conditional queries with pagination
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<UserResponseDto> getActiveUsers(Pageable pageable) {
-        Page<User> users = userRepository.findByIsActiveTrue(pageable);
-        return users.map(this::mapToResponseDto);
+        return userRepository.findActiveResponses(pageable);
+    }
+
+    /**
+     * Get users newest first using keyset pagination
+     * Demonstrates: Seek pagination without OFFSET or COUNT(*)
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponseDto> getAllUsers(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<UserResponseDto> users = after == null
+                ? userRepository.findKeysetFirstPage(fetch)
+                : userRepository.findKeysetPageBefore(after.createdAt(), after.id(), fetch);
+        return toCursorPage(users, limit);
+    }
+
+    /**
+     * Get active users newest first using keyset pagination
+     * Demonstrates: Seek pagination combined with filtering
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponseDto> getActiveUsers(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<UserResponseDto> users = after == null
+                ? userRepository.findActiveKeysetFirstPage(fetch)
+                : userRepository.findActiveKeysetPageBefore(after.createdAt(), after.id(), fetch);
+        return toCursorPage(users, limit);
+    }
+
+    /**
+     * One extra row is fetched to tell whether another page exists
+     */
+    private static CursorPage<UserResponseDto> toCursorPage(List<UserResponseDto> users, int limit) {
+        boolean hasNext = users.size() > limit;
+        List<UserResponseDto> content = hasNext ? new ArrayList<>(users.subList(0, limit)) : users;
+        String nextCursor = null;
+        if (hasNext) {
+            UserResponseDto last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, content.size(), nextCursor);
+    }
+
+    private static Set<String> findExisting(List<String> values, Function<Collection<String>, List<String>> query) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_CHUNK) {
+            existing.addAll(query.apply(values.subList(from, Math.min(from + IN_CLAUSE_CHUNK, values.size()))));
+        }
+        return existing;
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Export every user as newline-delimited JSON
+     * Demonstrates: Streaming query results straight to the client.
+     * Rows arrive through a forward-only cursor and each entity is detached once
+     * written, so heap use stays flat regardless of table size.
+     *
+     * @return number of users written
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAllOrderById();
+             SequenceWriter writer = objectMapper.writerFor(UserResponseDto.class)
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                writer.write(mapToResponseDto(user));
+                entityManager.detach(user);
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Map a violation of the username or email unique constraint to a
+     * DuplicateResourceException naming the field. Other integrity
+     * violations are returned unchanged.
+     */
+    static RuntimeException translateUniqueViolation(DataIntegrityViolationException ex, String username, String email) {
+        StringBuilder details = new StringBuilder();
+        for (Throwable cause = ex; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                details.append(violation.getConstraintName()).append(' ');
+            }
+            if (cause.getMessage() != null) {
+                details.append(cause.getMessage()).append(' ');
+            }
+        }
+        String violated = details.toString().toLowerCase(Locale.ROOT);
+        if (violated.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateResourceException("Username already exists: " + username, ex);
+        }
+        if (violated.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateResourceException("Email already exists: " + email, ex);
+        }
+        return ex;
     }
 
     /**
-     * Private helper method to map Entity to DTO
-     * Demonstrates: Entity to DTO mapping best practices
+     * Helper method to map Entity to DTO
+     * Demonstrates: Entity to DTO mapping best practices.
+     * Package-private and static so the JMH benchmarks can measure it in isolation.
      */
-    private UserResponseDto mapToResponseDto(User user) {
+    static UserResponseDto mapToResponseDto(User user) {
         return new UserResponseDto(
             user.getId(),
             user.getUsername(),
@@ -192,7 +626,9 @@ public class UserService {
             user.getRole(),
             user.getIsActive(),
             user.getCreatedAt(),
-            user.getUpdatedAt()
+            user.getUpdatedAt(),
+            user.getPostCount(),
+            user.getVersion()
         );
     }
 }
@@ -0,0 +1,19 @@
+-- =================================
+-- USER_ROLE_COUNTS TABLE (MySQL)
+-- =================================
+-- One row per role holding the number of users with that role, so role counts are a
+-- primary key lookup instead of COUNT(*) over users. Counts include inactive users.
+-- Run once against an existing database before deploying; ddl-auto=validate does not create it.
+--
+-- Roles without users get their row from UserRoleCounter at startup, which also
+-- reconciles any drift from users written between this script and the deploy.
+
+CREATE TABLE IF NOT EXISTS user_role_counts (
+    role ENUM ('USER', 'ADMIN', 'MODERATOR') NOT NULL,
+    user_count BIGINT NOT NULL,
+    PRIMARY KEY (role)
+) ENGINE = InnoDB;
+
+INSERT INTO user_role_counts (role, user_count)
+SELECT role, COUNT(*) FROM users WHERE role IS NOT NULL GROUP BY role
+ON DUPLICATE KEY UPDATE user_count = VALUES(user_count);
@@ -0,0 +1,13 @@
+-- =================================
+-- USERS.POST_COUNT COLUMN (MySQL)
+-- =================================
+-- Denormalized number of posts per user, maintained on post insert and delete.
+-- Run once against an existing database before deploying; ddl-auto=validate does not add it.
+--
+-- The backfill counts every post, published or not. Posts created between the UPDATE and
+-- the deploy are not counted; PostCountReconciler repairs those on its next run.
+
+ALTER TABLE users ADD COLUMN post_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET u.post_count = (SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id);
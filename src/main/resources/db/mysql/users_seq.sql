@@ -0,0 +1,19 @@
+-- =================================
+-- USERS_SEQ ID GENERATOR (MySQL)
+-- =================================
+-- User ids come from a pooled generator (allocationSize 50) instead of AUTO_INCREMENT.
+-- MySQL has no sequences, so Hibernate keeps the next value in a one-row users_seq table.
+-- Run once against an existing database before deploying; ddl-auto=validate does not create it.
+--
+-- The pooled optimizer hands out the 50 ids below the stored value, so the seed is
+-- MAX(id) + 51 to keep the first block clear of existing rows. Run it with writes stopped,
+-- otherwise rows inserted between the SELECT and the deploy can still collide.
+
+CREATE TABLE IF NOT EXISTS users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+DELETE FROM users_seq;
+
+INSERT INTO users_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM users;
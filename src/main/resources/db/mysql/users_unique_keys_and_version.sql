@@ -0,0 +1,17 @@
+-- =================================
+-- USERS UNIQUE KEY NAMES AND VERSION COLUMN (MySQL)
+-- =================================
+-- Duplicate usernames and emails are detected from the violated constraint's name, so the
+-- unique indexes must be called uk_users_username and uk_users_email. Databases created by
+-- the first release still carry Hibernate's generated names, and ddl-auto=validate neither
+-- renames them nor adds the optimistic locking column. Run once before deploying.
+--
+-- The old names below are the ones Hibernate generated for the original mapping. If the
+-- schema was created another way, look up the actual names first:
+--   SELECT INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS
+--   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND NON_UNIQUE = 0;
+
+ALTER TABLE users
+    RENAME INDEX UK_r43af9ap4edm43mmtq01oddj6 TO uk_users_username,
+    RENAME INDEX UK_6dotkott2kjsp8vw4d0m25fb7 TO uk_users_email,
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,85 @@
+package com.springboot.master.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admission Control Test
+ *
+ * Demonstrates:
+ * - Testing a servlet filter with Spring's mock request, response and chain
+ * - Priority-ordered shedding as pressure rises
+ * - Pressure classification and hysteresis from pool samples
+ */
+class AdmissionControlFilterTest {
+
+    private final AtomicReference<PressureLevel> pressure = new AtomicReference<>(PressureLevel.NORMAL);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(pressure::get, priorities(),
+            Duration.ofSeconds(3), new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+
+    @Test
+    void lowPriorityShedFirst() throws Exception {
+        pressure.set(PressureLevel.ELEVATED);
+
+        MockHttpServletResponse search = execute("/api/v1/users/search");
+        assertThat(search.getStatus()).isEqualTo(503);
+        assertThat(search.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(search.getContentAsString()).contains("Service Unavailable");
+
+        assertThat(execute("/api/v1/users/1").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("app.admission.shed").tag("priority", "low").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void criticalPressureShedsAllButCriticalEndpoints() throws Exception {
+        pressure.set(PressureLevel.CRITICAL);
+
+        assertThat(execute("/api/v1/users/1").getStatus()).isEqualTo(503);
+        assertThat(execute("/api/v1/users/health").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void normalPressureAdmitsEverything() throws Exception {
+        assertThat(execute("/api/v1/users/search").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void classifiesPoolSamples() {
+        PoolPressureMonitor monitor = new PoolPressureMonitor(() -> null, meterRegistry,
+                Duration.ofMillis(50), Duration.ofMillis(500), 0.9);
+
+        assertThat(monitor.classify(new PoolPressureMonitor.Sample(5, 20, 0, 1, 0))).isEqualTo(PressureLevel.NORMAL);
+        assertThat(monitor.classify(new PoolPressureMonitor.Sample(19, 20, 2, 10, 0))).isEqualTo(PressureLevel.ELEVATED);
+        assertThat(monitor.classify(new PoolPressureMonitor.Sample(20, 20, 0, 80, 0))).isEqualTo(PressureLevel.ELEVATED);
+        assertThat(monitor.classify(new PoolPressureMonitor.Sample(20, 20, 20, 10, 0))).isEqualTo(PressureLevel.CRITICAL);
+        assertThat(monitor.classify(new PoolPressureMonitor.Sample(20, 20, 3, 10, 1))).isEqualTo(PressureLevel.CRITICAL);
+    }
+
+    private MockHttpServletResponse execute(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setContextPath("/api/v1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static Map<String, Priority> priorities() {
+        Map<String, Priority> priorities = new LinkedHashMap<>();
+        priorities.put("/users/health", Priority.CRITICAL);
+        priorities.put("/users/search/**", Priority.LOW);
+        return priorities;
+    }
+}
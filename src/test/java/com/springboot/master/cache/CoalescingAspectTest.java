@@ -0,0 +1,123 @@
+package com.springboot.master.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Coalescing Aspect Test
+ *
+ * Demonstrates:
+ * - Testing an aspect without a Spring context using AspectJProxyFactory
+ * - Holding the leader inside the method so concurrent callers must pile up
+ */
+class CoalescingAspectTest {
+
+    static class SlowLookup {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Coalesced
+        public String load(Long id) throws InterruptedException {
+            executions.incrementAndGet();
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (id < 0) {
+                throw new IllegalArgumentException("Negative id");
+            }
+            return "user-" + id;
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowLookup target;
+    private SlowLookup proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new SlowLookup();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CoalescingAspect(meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneExecution() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> proxy.load(1L)));
+            target.entered.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> proxy.load(1L)));
+            }
+            waitForCollapsed(7);
+            target.release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+            }
+            assertThat(target.executions.get()).isEqualTo(1);
+            assertThat(meterRegistry.get("app.coalescing.loads").counter().count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void differentArgumentsAndSequentialCallsAreNotCoalesced() throws Exception {
+        target.release.countDown();
+
+        assertThat(proxy.load(1L)).isEqualTo("user-1");
+        assertThat(proxy.load(1L)).isEqualTo("user-1");
+        assertThat(proxy.load(2L)).isEqualTo("user-2");
+        assertThat(target.executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    void leaderFailureIsPropagatedToWaiters() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> proxy.load(-1L));
+            target.entered.await(5, TimeUnit.SECONDS);
+            Future<String> follower = executor.submit(() -> proxy.load(-1L));
+            waitForCollapsed(1);
+            target.release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThat(target.executions.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitForCollapsed(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collapsed() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(collapsed()).isEqualTo(expected);
+    }
+
+    private double collapsed() {
+        var counter = meterRegistry.find("app.coalescing.collapsed").counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.springboot.master.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two-Tier Cache Test
+ *
+ * Demonstrates:
+ * - Simulating several nodes in one JVM with a shared in-process L2 and bus
+ * - Verifying cross-node near-cache invalidation
+ */
+class TwoTierCacheTest {
+
+    private ConcurrentMapCacheManager sharedRemote;
+    private Cache nodeA;
+    private Cache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        sharedRemote = new ConcurrentMapCacheManager("users");
+        InProcessCacheInvalidationBus bus = new InProcessCacheInvalidationBus();
+        nodeA = new TwoTierCacheManager(localManager(), sharedRemote, bus, List.of("users")).getCache("users");
+        nodeB = new TwoTierCacheManager(localManager(), sharedRemote, bus, List.of("users")).getCache("users");
+    }
+
+    @Test
+    void readThroughPopulatesLocalTierFromSharedTier() {
+        nodeA.put(1L, "alice");
+
+        assertThat(nodeB.get(1L, String.class)).isEqualTo("alice");
+        // Served from node B's L1 even after the shared tier lost the entry
+        sharedRemote.getCache("users").evict(1L);
+        assertThat(nodeB.get(1L, String.class)).isEqualTo("alice");
+    }
+
+    @Test
+    void evictOnOneNodeInvalidatesNearCacheOnOtherNodes() {
+        nodeA.put(1L, "alice");
+        assertThat(nodeB.get(1L, String.class)).isEqualTo("alice");
+
+        nodeA.evict(1L);
+
+        assertThat(nodeB.get(1L)).isNull();
+        assertThat(nodeA.get(1L)).isNull();
+    }
+
+    @Test
+    void putOnOneNodeReplacesStaleNearCacheEntryOnOtherNodes() {
+        nodeA.put(1L, "alice");
+        assertThat(nodeB.get(1L, String.class)).isEqualTo("alice");
+
+        nodeA.put(1L, "alice-updated");
+
+        assertThat(nodeB.get(1L, String.class)).isEqualTo("alice-updated");
+    }
+
+    @Test
+    void clearOnOneNodeClearsEveryNearCache() {
+        nodeA.put(1L, "alice");
+        nodeA.put(2L, "bob");
+        assertThat(nodeB.get(2L, String.class)).isEqualTo("bob");
+
+        nodeA.clear();
+
+        assertThat(nodeB.get(1L)).isNull();
+        assertThat(nodeB.get(2L)).isNull();
+    }
+
+    @Test
+    void valueLoaderRunsOnceAndIsSharedThroughTheRemoteTier() {
+        int[] loads = {0};
+
+        assertThat(nodeA.get(7L, () -> "loaded-" + (++loads[0]))).isEqualTo("loaded-1");
+        assertThat(nodeB.get(7L, () -> "loaded-" + (++loads[0]))).isEqualTo("loaded-1");
+        assertThat(loads[0]).isEqualTo(1);
+    }
+
+    private static CaffeineCacheManager localManager() {
+        CaffeineCacheManager local = new CaffeineCacheManager();
+        local.setCacheNames(List.of());
+        local.registerCustomCache("users", Caffeine.newBuilder().maximumSize(100).build());
+        return local;
+    }
+}
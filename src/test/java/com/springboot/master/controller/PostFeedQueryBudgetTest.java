@@ -0,0 +1,104 @@
+package com.springboot.master.controller;
+
+import com.springboot.master.entity.Post;
+import com.springboot.master.entity.User;
+import com.springboot.master.repository.PostRepository;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.support.QueryBudget;
+import com.springboot.master.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets for the published post feed
+ *
+ * Demonstrates:
+ * - Catching N+1 author loads: without the entity graph every distinct author
+ *   on the page would cost one extra SELECT
+ * - Verifying that cached feed pages do not touch the database
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class PostFeedQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final List<User> authors = new ArrayList<>();
+    private final List<Post> posts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            User author = TestUsers.save(userRepository, "author" + i + "x", "Author", "Number" + i);
+            String username = author.getUsername();
+            authors.add(author);
+            for (int j = 0; j < 2; j++) {
+                Post post = new Post("Post " + j + " by " + username, "Content", author);
+                post.setIsPublished(true);
+                posts.add(postRepository.save(post));
+            }
+        }
+        cacheManager.getCache("posts").clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch(posts);
+        userRepository.deleteAllInBatch(authors);
+        posts.clear();
+        authors.clear();
+        cacheManager.getCache("posts").clear();
+    }
+
+    @Test
+    @QueryBudget(statements = 2, entities = 40, collections = 0)
+    void feedPage_LoadsPostsAndAuthorsInOneSelect() throws Exception {
+        mockMvc.perform(get("/posts").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andExpect(jsonPath("$.content[0].authorUsername").exists());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, collections = 0)
+    void feedPage_SecondRequestIsServedFromCache() throws Exception {
+        mockMvc.perform(get("/posts").param("size", "20")).andExpect(status().isOk());
+        mockMvc.perform(get("/posts").param("size", "20")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, collections = 0)
+    void feedPage_ClampsOutOfRangePaging() throws Exception {
+        mockMvc.perform(get("/posts").param("page", "-1").param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.number").value(0))
+                .andExpect(jsonPath("$.size").value(1));
+    }
+}
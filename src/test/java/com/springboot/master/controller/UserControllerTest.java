@@ -1,8 +1,11 @@
 package com.springboot.master.controller;
 
 import com.springboot.master.dto.CreateUserDto;
+import com.springboot.master.dto.CursorPage;
 import com.springboot.master.dto.UserResponseDto;
 import com.springboot.master.entity.UserRole;
+import com.springboot.master.service.UserAvailabilityService;
+import com.springboot.master.service.UserJsonCache;
 import com.springboot.master.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,14 +13,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Security testing with @WithMockUser
  * - JSON serialization/deserialization
  * - Request/Response testing
+ * - Conditional requests (ETag / If-None-Match)
  */
 @WebMvcTest(UserController.class)
 class UserControllerTest {
@@ -43,6 +54,12 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserJsonCache userJsonCache;
+
+    @MockBean
+    private UserAvailabilityService userAvailabilityService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -114,27 +131,140 @@ class UserControllerTest {
     @Test
     @WithMockUser
     void getUserById_Success() throws Exception {
-        when(userService.getUserById(1L)).thenReturn(userResponseDto);
+        UserJsonCache.Entry entry = UserJsonCache.encode(userResponseDto, objectMapper, 512);
+        when(userJsonCache.getUserJson(1L)).thenReturn(entry);
 
         mockMvc.perform(get("/users/1"))                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", entry.eTag()))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.username").value("testuser"));
     }
 
+    /**
+     * Test conditional GET - matching If-None-Match returns 304 without a body
+     */
+    @Test
+    @WithMockUser
+    void getUserById_NotModified() throws Exception {
+        UserJsonCache.Entry entry = UserJsonCache.encode(userResponseDto, objectMapper, 512);
+        when(userJsonCache.getUserJson(1L)).thenReturn(entry);
+
+        mockMvc.perform(get("/users/1").header("If-None-Match", entry.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/users/1").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test pre-compressed variant - served only to clients that accept gzip
+     */
+    @Test
+    @WithMockUser
+    void getUserById_GzipVariant() throws Exception {
+        UserJsonCache.Entry entry = UserJsonCache.encode(userResponseDto, objectMapper, 0);
+        when(userJsonCache.getUserJson(1L)).thenReturn(entry);
+
+        mockMvc.perform(get("/users/1").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", entry.gzipETag()))
+                .andExpect(content().bytes(entry.gzip()));
+
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.username").value("testuser"));
+    }
+
+    /**
+     * Test cursor mode listing - returns next cursor instead of page metadata
+     */
+    @Test
+    @WithMockUser
+    void getAllUsers_CursorMode() throws Exception {
+        when(userService.getAllUsers("", 1)).thenReturn(new CursorPage<>(List.of(userResponseDto), 1, "next-token"));
+
+        mockMvc.perform(get("/users").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value("testuser"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    /**
+     * Test NDJSON export - body is streamed asynchronously
+     */
+    @Test
+    @WithMockUser
+    void exportUsers_StreamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(userService).exportUsers(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
     /**
      * Test updating user - Success case
      */
     @Test
     @WithMockUser
     void updateUser_Success() throws Exception {
-        when(userService.updateUser(eq(1L), any(CreateUserDto.class))).thenReturn(userResponseDto);
+        when(userService.updateUser(eq(1L), any(CreateUserDto.class), isNull())).thenReturn(userResponseDto);
 
         mockMvc.perform(put("/users/1")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createUserDto)))                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("testuser"));
-    }    /**
+    }
+
+    /**
+     * Test updating user - If-Match naming another representation is rejected
+     */
+    @Test
+    @WithMockUser
+    void updateUser_ForeignIfMatch() throws Exception {
+        mockMvc.perform(put("/users/1")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "\"u2-v3-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createUserDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    /**
+     * Test patching user - members that cannot be patched or removed are rejected
+     */
+    @Test
+    @WithMockUser
+    void patchUser_RejectsPasswordAndRemovals() throws Exception {
+        mockMvc.perform(patch("/users/1")
+                        .with(csrf())
+                        .contentType(UserController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"password\":\"newpassword1\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/users/1")
+                        .with(csrf())
+                        .contentType(UserController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"firstName\":null}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
      * Test deleting user - Success case
      */
     @Test
@@ -145,6 +275,30 @@ class UserControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    /**
+     * Test availability check - only the requested fields are reported
+     */
+    @Test
+    @WithMockUser
+    void checkAvailability_Success() throws Exception {
+        when(userAvailabilityService.isUsernameTaken("testuser")).thenReturn(true);
+
+        mockMvc.perform(get("/users/availability").param("username", "testuser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(false))
+                .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+    }
+
+    /**
+     * Test availability check - nothing to check
+     */
+    @Test
+    @WithMockUser
+    void checkAvailability_MissingParameters() throws Exception {
+        mockMvc.perform(get("/users/availability"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Test health check endpoint
      */
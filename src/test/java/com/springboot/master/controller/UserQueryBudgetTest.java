@@ -0,0 +1,150 @@
+package com.springboot.master.controller;
+
+import com.springboot.master.entity.User;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.support.QueryBudget;
+import com.springboot.master.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets for the user read, update, patch and availability endpoints
+ *
+ * Demonstrates:
+ * - Full-stack requests through MockMvc with real Hibernate and H2
+ * - Failing fast when an endpoint starts issuing more SQL than it should
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class UserQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            User user = TestUsers.save(userRepository, "budget" + i + "x", "Budget", "User" + i);
+            users.add(user);
+            ids.add(user.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(ids);
+        ids.clear();
+        users.clear();
+    }
+
+    @Test
+    @QueryBudget(statements = 1, entities = 1, collections = 0)
+    void getUserById_LoadsOneRow() throws Exception {
+        mockMvc.perform(get("/users/{id}", ids.get(0)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, entities = 0, collections = 0)
+    void getAllUsers_UsesProjectionAndCount() throws Exception {
+        mockMvc.perform(get("/users").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20));
+    }
+
+    @Test
+    @QueryBudget(statements = 1, entities = 0, collections = 0)
+    void getAllUsers_CursorModeSkipsCount() throws Exception {
+        mockMvc.perform(get("/users").param("cursor", "").param("size", "20"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, entities = 0, collections = 0)
+    void searchUsers_ShortTermsFallBackCaseInsensitively() throws Exception {
+        // Two characters are below the trigram length, so this runs the LIKE fallback
+        mockMvc.perform(get("/users/search").param("name", "bU").param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.totalElements").value(greaterThanOrEqualTo(20)));
+    }
+
+    @Test
+    @QueryBudget(statements = 2, entities = 1, collections = 0)
+    void updateUser_LoadsOnceAndWritesOnce() throws Exception {
+        User user = users.get(0);
+        String body = "{\"username\":\"" + user.getUsername() + "\",\"email\":\"" + user.getEmail() + "\","
+                + "\"password\":\"password123\",\"firstName\":\"Renamed\",\"lastName\":\"User\",\"age\":31}";
+        mockMvc.perform(put("/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(user.getVersion() + 1));
+    }
+
+    @Test
+    @QueryBudget(statements = 2, entities = 1, collections = 0)
+    void patchUser_LoadsOnceAndWritesOnce() throws Exception {
+        mockMvc.perform(patch("/users/{id}", ids.get(0))
+                        .contentType(UserController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"age\":42}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age").value(42))
+                .andExpect(jsonPath("$.lastName").value("User0"));
+    }
+
+    @Test
+    @QueryBudget(statements = 1, entities = 1, collections = 0)
+    void patchUser_NoChangeSkipsTheUpdate() throws Exception {
+        mockMvc.perform(patch("/users/{id}", ids.get(0))
+                        .contentType(UserController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"firstName\":\"Budget\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 0)
+    void checkAvailability_UnusedValuesSkipTheDatabase() throws Exception {
+        String unused = "free" + System.nanoTime();
+        mockMvc.perform(get("/users/availability").param("username", unused).param("email", unused + "@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(true))
+                .andExpect(jsonPath("$.emailAvailable").value(true));
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    void checkAvailability_TakenValuesAreConfirmed() throws Exception {
+        User user = users.get(0);
+        mockMvc.perform(get("/users/availability").param("username", user.getUsername()).param("email", user.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(false))
+                .andExpect(jsonPath("$.emailAvailable").value(false));
+    }
+}
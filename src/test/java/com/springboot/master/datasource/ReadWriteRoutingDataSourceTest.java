@@ -0,0 +1,133 @@
+package com.springboot.master.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/Write Routing Test
+ *
+ * Demonstrates:
+ * - Two H2 databases standing in for primary and replica
+ * - Asserting the routing decision by asking the connection which database it is on
+ * - Fallback to the primary for unhealthy replicas, pinned requests and cache loads
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaPool replicaPool;
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary", "jdbc:h2:mem:rwprimary;DB_CLOSE_DELAY=-1");
+        replica = h2("replica-0", "jdbc:h2:mem:rwreplica;DB_CLOSE_DELAY=-1");
+        replicaPool = new ReplicaPool(List.of(replica), Duration.ofSeconds(1), Duration.ofSeconds(10), null);
+        meterRegistry = new SimpleMeterRegistry();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replicaPool, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+        primary.close();
+        replicaPool.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWREPLICA");
+        assertThat(databaseIn(writeTransaction)).isEqualTo("RWPRIMARY");
+        assertThat(meterRegistry.get("app.datasource.routed").tag("target", "replica-0").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() {
+        replica.close();
+        replicaPool.checkHealth();
+
+        assertThat(replicaPool.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWPRIMARY");
+        assertThat(meterRegistry.get("app.datasource.routed").tag("reason", "no-healthy-replica").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void readsAfterWriteInSameRequestStayOnPrimary() {
+        RoutingContext.begin(false);
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWREPLICA");
+
+        writeTransaction.execute(status -> currentDatabase());
+
+        assertThat(RoutingContext.hasWritten()).isTrue();
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWPRIMARY");
+    }
+
+    @Test
+    void pinnedRequestReadsFromPrimary() {
+        RoutingContext.begin(true);
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWPRIMARY");
+    }
+
+    @Test
+    void cacheLoadsReadFromPrimary() {
+        boolean previous = RoutingContext.beginCacheLoad();
+        try {
+            assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWPRIMARY");
+        } finally {
+            RoutingContext.endCacheLoad(previous);
+        }
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWREPLICA");
+        assertThat(meterRegistry.get("app.datasource.routed").tag("reason", "cache-load").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void threadsOutsideRequestsAreNeverPinned() {
+        writeTransaction.execute(status -> currentDatabase());
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("RWREPLICA");
+    }
+
+    /**
+     * Database the transaction's connection points at; a String local keeps
+     * assertThat from being ambiguous between the Predicate overloads
+     */
+    private String databaseIn(TransactionTemplate transaction) {
+        String database = transaction.execute(status -> currentDatabase());
+        return database;
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static HikariDataSource h2(String poolName, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+}
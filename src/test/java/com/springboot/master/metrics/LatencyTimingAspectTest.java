@@ -0,0 +1,99 @@
+package com.springboot.master.metrics;
+
+import com.springboot.master.config.AdviceOrder;
+import com.springboot.master.service.EchoTestService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Latency Timing Aspect Test
+ *
+ * Demonstrates:
+ * - Testing aspects in a minimal Spring context (no web server, no database)
+ * - Verifying advice ordering: the cache hit/miss tag only works when the
+ *   marker aspect runs inside the caching interceptor
+ */
+@SpringJUnitConfig(LatencyTimingAspectTest.Config.class)
+class LatencyTimingAspectTest {
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @EnableCaching(order = AdviceOrder.CACHING)
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("echo");
+        }
+
+        @Bean
+        LatencyTimingAspect latencyTimingAspect(MeterRegistry meterRegistry) {
+            return new LatencyTimingAspect(meterRegistry, Duration.ofMillis(500));
+        }
+
+        @Bean
+        CacheMissMarkerAspect cacheMissMarkerAspect() {
+            return new CacheMissMarkerAspect();
+        }
+
+        @Bean
+        EchoTestService echoTestService() {
+            return new EchoTestService();
+        }
+    }
+
+    @Autowired
+    private EchoTestService echoTestService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void cacheableServiceCallsAreTaggedHitOrMiss() {
+        echoTestService.cachedEcho("a");
+        echoTestService.cachedEcho("a");
+        echoTestService.cachedEcho("a");
+
+        assertThat(timer("cachedEcho", "miss").count()).isEqualTo(1);
+        assertThat(timer("cachedEcho", "hit").count()).isEqualTo(2);
+        assertThat(timer("cachedEcho", "miss").getId().getTag("layer")).isEqualTo("service");
+        assertThat(timer("cachedEcho", "miss").getId().getTag("class")).isEqualTo("EchoTestService");
+    }
+
+    @Test
+    void failuresAreTaggedWithOutcomeAndException() {
+        assertThatThrownBy(() -> echoTestService.failingEcho("b")).isInstanceOf(IllegalArgumentException.class);
+
+        Timer timer = timer("failingEcho", "none");
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.getId().getTag("outcome")).isEqualTo("error");
+        assertThat(timer.getId().getTag("exception")).isEqualTo("IllegalArgumentException");
+    }
+
+    private Timer timer(String method, String cache) {
+        return meterRegistry.get(LatencyTimingAspect.METRIC_NAME)
+                .tag("method", method)
+                .tag("cache", cache)
+                .timer();
+    }
+}
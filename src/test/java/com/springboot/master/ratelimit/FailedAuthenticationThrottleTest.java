@@ -0,0 +1,54 @@
+package com.springboot.master.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Failed Authentication Throttle Test
+ *
+ * Demonstrates:
+ * - Bad Basic credentials answered with 429 once the per-IP budget is spent,
+ *   through the real security filter chain
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.failed-authentication.burst=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FailedAuthenticationThrottleTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void repeatedBadCredentialsAreThrottled() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/users/1").with(httpBasic("intruder", "guess" + i)).with(from("10.1.2.3")))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(get("/users/1").with(httpBasic("intruder", "guess3")).with(from("10.1.2.3")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(get("/users/1").with(httpBasic("intruder", "guess3")).with(from("10.1.2.4")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
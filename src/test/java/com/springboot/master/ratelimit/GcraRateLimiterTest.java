@@ -0,0 +1,151 @@
+package com.springboot.master.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GCRA Rate Limiter Test
+ *
+ * Demonstrates:
+ * - Deterministic time in limiter tests by passing the clock value explicitly
+ * - Burst, sustained rate and per-client isolation
+ * - Exactly "burst" admissions under concurrent CAS contention
+ * - Failed authentication charged per address, successful authentication not at all
+ */
+class GcraRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GcraRateLimiter limiter = new GcraRateLimiter(List.of(
+            new RateLimitRule("search", "/users/search/**", null, 5, 10),
+            new RateLimitRule("batch", "/users/batch", "POST", 1, 1)), meterRegistry);
+
+    @Test
+    void admitsBurstThenSustainedRate() {
+        long now = 0;
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("GET", "/users/search", "alice", now)).isZero();
+        }
+        long wait = limiter.tryAcquire("GET", "/users/search", "alice", now);
+        assertThat(wait).isEqualTo(SECOND / 5);
+
+        // One emission interval later exactly one more request fits
+        assertThat(limiter.tryAcquire("GET", "/users/search", "alice", now + SECOND / 5)).isZero();
+        assertThat(limiter.tryAcquire("GET", "/users/search", "alice", now + SECOND / 5)).isPositive();
+        assertThat(meterRegistry.get("app.ratelimit.throttled").tag("route", "search").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void clientsAndRoutesAreIndependent() {
+        assertThat(limiter.tryAcquire("POST", "/users/batch", "alice", 0)).isZero();
+        assertThat(limiter.tryAcquire("POST", "/users/batch", "alice", 0)).isPositive();
+        assertThat(limiter.tryAcquire("POST", "/users/batch", "bob", 0)).isZero();
+        assertThat(limiter.tryAcquire("GET", "/users/search", "alice", 0)).isZero();
+        // No rule for GET /users/batch
+        assertThat(limiter.tryAcquire("GET", "/users/batch", "alice", 0)).isZero();
+    }
+
+    @Test
+    void evictsOnlyIdleBuckets() {
+        long now = System.nanoTime();
+        limiter.tryAcquire("GET", "/users/search", "idle", now - 60 * SECOND);
+        limiter.tryAcquire("GET", "/users/search", "busy", now + 60 * SECOND);
+
+        assertThat(limiter.evictIdle(30 * SECOND)).isEqualTo(1);
+        assertThat(meterRegistry.get("app.ratelimit.buckets").tag("route", "search").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCallersShareOneBucket() throws Exception {
+        long now = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> calls = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                calls.add(() -> limiter.tryAcquire("GET", "/users/search", "shared", now) == 0);
+            }
+            long admitted = 0;
+            for (Future<Boolean> result : executor.invokeAll(calls)) {
+                admitted += result.get() ? 1 : 0;
+            }
+            assertThat(admitted).isEqualTo(10);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void filterAnswersTooManyRequestsWithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(limiter);
+        assertThat(execute(filter).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse throttled = execute(filter);
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void failedAuthenticationIsThrottledPerAddress() throws Exception {
+        FailedAuthenticationFilter filter = new FailedAuthenticationFilter(new FailedAuthenticationLimiter(
+                new RateLimitRule("failed-authentication", "/**", null, 0.2, 3), meterRegistry));
+        for (int i = 0; i < 3; i++) {
+            assertThat(authenticate(filter, "10.0.0.8", "wrong").getStatus()).isEqualTo(401);
+        }
+
+        MockHttpServletResponse throttled = authenticate(filter, "10.0.0.8", "wrong");
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader("Retry-After")).isEqualTo("5");
+        // Valid credentials from the same address wait too; other addresses are unaffected
+        assertThat(authenticate(filter, "10.0.0.8", "secret").getStatus()).isEqualTo(429);
+        assertThat(authenticate(filter, "10.0.0.9", "secret").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("app.ratelimit.throttled").tag("route", "failed-authentication").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void successfulAuthenticationIsNotCharged() throws Exception {
+        FailedAuthenticationFilter filter = new FailedAuthenticationFilter(new FailedAuthenticationLimiter(
+                new RateLimitRule("failed-authentication", "/**", null, 0.2, 1), meterRegistry));
+        for (int i = 0; i < 5; i++) {
+            assertThat(authenticate(filter, "10.0.0.8", "secret").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private static MockHttpServletResponse authenticate(FailedAuthenticationFilter filter, String address,
+                                                        String password) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setRemoteAddr(address);
+        request.addHeader("Authorization", password);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // Stands in for BasicAuthenticationFilter
+        filter.doFilter(request, response, (req, res) -> {
+            if (!"secret".equals(((MockHttpServletRequest) req).getHeader("Authorization"))) {
+                ((MockHttpServletResponse) res).sendError(401);
+            }
+        });
+        return response;
+    }
+
+    private static MockHttpServletResponse execute(RateLimitFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users/batch");
+        request.setContextPath("/api/v1");
+        request.setRemoteAddr("10.0.0.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,77 @@
+package com.springboot.master.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bloom Filter Test
+ *
+ * Demonstrates:
+ * - Plain unit testing of a probabilistic data structure
+ * - No false negatives, including under concurrent inserts
+ * - The measured false-positive rate staying close to the target
+ */
+class BloomFilterTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void addedKeysAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateMatchesTheSizing() {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put("taken" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (filter.mightContain("free" + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / KEYS;
+        assertThat(observed).isLessThan(0.02);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.005, 0.015);
+        assertThat(filter.approximateKeyCount()).isBetween(KEYS * 95L / 100, KEYS * 105L / 100);
+        // ~9.6 bits per key at 1%
+        assertThat(filter.memoryBytes()).isBetween(KEYS * 9L / 8, KEYS * 10L / 8 + 64);
+    }
+
+    @Test
+    void concurrentInsertsAreNotLost() throws Exception {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < KEYS; i += 8) {
+                        filter.put("concurrent" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(filter.mightContain("concurrent" + i)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.springboot.master.search;
+
+import com.springboot.master.cache.CacheInvalidationBus;
+import com.springboot.master.cache.InProcessCacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User Identifier Broadcaster Test
+ *
+ * Demonstrates:
+ * - Two nodes simulated by two filters sharing one in-process bus
+ * - Identifiers reaching the other node only after the transaction commits,
+ *   and never after a rollback
+ */
+class UserIdentifierBroadcasterTest {
+
+    private final InProcessCacheInvalidationBus bus = new InProcessCacheInvalidationBus();
+    private final UserIdentifierFilter filterA = filter();
+    private final UserIdentifierFilter filterB = filter();
+    private final UserIdentifierBroadcaster nodeA = broadcaster(filterA);
+    private final UserIdentifierBroadcaster nodeB = broadcaster(filterB);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void otherNodesLearnIdentifiersOutsideTransactions() {
+        nodeA.publish("alice", "alice@example.com");
+
+        assertThat(filterB.mightContain(UserIdentifierFilter.Field.USERNAME, "Alice")).isTrue();
+        assertThat(filterB.mightContain(UserIdentifierFilter.Field.EMAIL, "alice@example.com")).isTrue();
+        // The sender ignores its own messages; its entity listener already added them
+        assertThat(filterA.mightContain(UserIdentifierFilter.Field.USERNAME, "alice")).isFalse();
+    }
+
+    @Test
+    void identifiersAreSentOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish("bob", "bob@example.com");
+        nodeA.publish("carol", "carol@example.com");
+        assertThat(filterB.mightContain(UserIdentifierFilter.Field.USERNAME, "bob")).isFalse();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(filterB.mightContain(UserIdentifierFilter.Field.USERNAME, "bob")).isTrue();
+        assertThat(filterB.mightContain(UserIdentifierFilter.Field.USERNAME, "carol")).isTrue();
+        assertThat(filterB.mightContain(UserIdentifierFilter.Field.EMAIL, "carol@example.com")).isTrue();
+        assertThat(TransactionSynchronizationManager.hasResource(nodeA)).isFalse();
+    }
+
+    @Test
+    void rolledBackIdentifiersAreNotSent() {
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish("dave", "dave@example.com");
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(filterB.mightContain(UserIdentifierFilter.Field.USERNAME, "dave")).isFalse();
+        assertThat(TransactionSynchronizationManager.hasResource(nodeA)).isFalse();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static UserIdentifierFilter filter() {
+        return new UserIdentifierFilter(new SimpleMeterRegistry(), 1_000, 0.001);
+    }
+
+    private UserIdentifierBroadcaster broadcaster(UserIdentifierFilter filter) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("cacheInvalidationBus", bus));
+        return new UserIdentifierBroadcaster(filter, beanFactory.getBeanProvider(CacheInvalidationBus.class));
+    }
+}
@@ -0,0 +1,63 @@
+package com.springboot.master.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User Name Index Test
+ *
+ * Demonstrates:
+ * - Plain unit testing of an in-memory data structure
+ * - Substring semantics, ranking and incremental updates
+ */
+class UserNameIndexTest {
+
+    private UserNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserNameIndex();
+        index.index(1L, "Johnathan", "Smith");
+        index.index(2L, "John", "Doe");
+        index.index(3L, "Mary", "Johnson");
+        index.index(4L, "Alice", "Bjohnsen");
+    }
+
+    @Test
+    void search_RanksExactThenPrefixThenInfixMatches() {
+        assertThat(index.search("john")).containsExactly(2L, 3L, 1L, 4L);
+    }
+
+    @Test
+    void search_IsCaseInsensitiveAndVerifiesSubstring() {
+        // "ohn" and "hns" trigrams both exist, but only Johnson/Bjohnsen contain "ohns"
+        assertThat(index.search("OHNS")).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(index.search("xyz")).isEmpty();
+    }
+
+    @Test
+    void index_ReplacesPreviousNames() {
+        index.index(2L, "Peter", "Doe");
+
+        assertThat(index.search("john")).doesNotContain(2L);
+        assertThat(index.search("pete")).containsExactly(2L);
+    }
+
+    @Test
+    void indexIfAbsent_DoesNotOverwriteNewerEntry() {
+        index.indexIfAbsent(2L, "Stale", "Name");
+
+        assertThat(index.search("john")).contains(2L);
+        assertThat(index.search("stale")).isEmpty();
+    }
+
+    @Test
+    void remove_DropsUserFromResults() {
+        index.remove(3L);
+
+        assertThat(index.search("johnson")).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,19 @@
+package com.springboot.master.service;
+
+import org.springframework.cache.annotation.Cacheable;
+
+/**
+ * Minimal service used by the latency timing tests; it lives in the service
+ * package so the service-layer pointcut applies to it.
+ */
+public class EchoTestService {
+
+    @Cacheable(value = "echo", key = "#value")
+    public String cachedEcho(String value) {
+        return value;
+    }
+
+    public String failingEcho(String value) {
+        throw new IllegalArgumentException("Rejected: " + value);
+    }
+}
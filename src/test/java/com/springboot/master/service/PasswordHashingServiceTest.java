@@ -0,0 +1,112 @@
+package com.springboot.master.service;
+
+import com.springboot.master.exception.GlobalExceptionHandler;
+import com.springboot.master.exception.GlobalExceptionHandler.ErrorResponse;
+import com.springboot.master.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Password Hashing Service Test
+ *
+ * Demonstrates:
+ * - Driving backpressure deterministically with a one-thread, zero-capacity
+ *   executor and an encoder held on a latch
+ * - Rejection and timeout both surfacing as 503 with a Retry-After header
+ * - A timed-out hash being cancelled so it does not keep holding the worker
+ */
+class PasswordHashingServiceTest {
+
+    /**
+     * Encoder that blocks until released, standing in for an expensive BCrypt cost
+     */
+    static class BlockingEncoder implements PasswordEncoder {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingEncoder encoder = new BlockingEncoder();
+    private final ExecutorService callers = Executors.newSingleThreadExecutor();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        encoder.release.countDown();
+        callers.shutdownNow();
+        service.shutdown();
+    }
+
+    @Test
+    void fullQueueIsRejectedWithRetryAfter() throws Exception {
+        service = new PasswordHashingService(encoder, meterRegistry, 1, 0, Duration.ofSeconds(5));
+        Future<String> first = callers.submit(() -> service.encode("first"));
+        assertThat(encoder.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The only worker is busy and there is no queue to wait in
+        ServiceUnavailableException ex = catchThrowableOfType(() -> service.encode("second"), ServiceUnavailableException.class);
+        assertThat(ex).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(ex.getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+                .handleServiceUnavailableException(ex, new ServletWebRequest(new MockHttpServletRequest()));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        // The accepted hash is unaffected by the rejection
+        encoder.release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+    }
+
+    @Test
+    void slowHashTimesOutAndIsCancelled() throws Exception {
+        service = new PasswordHashingService(encoder, meterRegistry, 1, 0, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> service.encode("slow"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Password hashing timed out")
+                .hasCauseInstanceOf(TimeoutException.class)
+                .extracting(thrown -> ((ServiceUnavailableException) thrown).getRetryAfterSeconds())
+                .isEqualTo(1L);
+        assertThat(encoder.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.springboot.master.service;
+
+import com.springboot.master.dto.CreatePostDto;
+import com.springboot.master.dto.PostResponseDto;
+import com.springboot.master.entity.User;
+import com.springboot.master.repository.PostRepository;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Post Counter Test
+ *
+ * Demonstrates:
+ * - Verifying a denormalized counter against its source of truth
+ * - Repairing deliberately corrupted rows with the reconciliation job
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PostCountReconcilerTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostCountReconciler reconciler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = TestUsers.save(userRepository, "counter", "Count", "Er");
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch(postRepository.findByUserId(author.getId()));
+        userRepository.deleteById(author.getId());
+    }
+
+    @Test
+    void createAndDeleteAdjustCounterAndEvictCachedUser() {
+        assertThat(userService.getUserById(author.getId()).getPostCount()).isZero();
+
+        PostResponseDto first = postService.createPost(new CreatePostDto("First", "Content", author.getId(), true));
+        postService.createPost(new CreatePostDto("Second", "Content", author.getId(), false));
+        assertThat(userService.getUserById(author.getId()).getPostCount()).isEqualTo(2);
+
+        postService.deletePost(first.getId());
+        assertThat(userService.getUserById(author.getId()).getPostCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileRepairsDriftedCounter() {
+        postService.createPost(new CreatePostDto("Only", "Content", author.getId(), true));
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> userRepository.adjustPostCount(author.getId(), 41));
+
+        assertThat(reconciler.reconcile()).isGreaterThanOrEqualTo(1);
+        assertThat(userRepository.findById(author.getId()).orElseThrow().getPostCount()).isEqualTo(1);
+    }
+}
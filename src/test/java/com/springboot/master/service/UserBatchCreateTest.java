@@ -0,0 +1,100 @@
+package com.springboot.master.service;
+
+import com.springboot.master.dto.BatchCreateResponseDto;
+import com.springboot.master.dto.BatchCreateResultDto;
+import com.springboot.master.dto.CreateUserDto;
+import com.springboot.master.entity.User;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * User Batch Create Test
+ *
+ * Demonstrates:
+ * - One result per submitted row, in submission order, for a partially valid batch
+ * - In-batch duplicates, existing usernames and emails, and invalid rows rejected
+ *   without failing the rows around them
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserBatchCreateTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+    private User existing;
+
+    @BeforeEach
+    void setUp() {
+        existing = TestUsers.save(userRepository, "batchold", "Batch", "Existing");
+        ids.add(existing.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(ids);
+        ids.clear();
+    }
+
+    @Test
+    void mixedBatchReportsEveryRow() {
+        String first = "batchnew" + System.nanoTime();
+        String second = "batchnew" + System.nanoTime();
+
+        BatchCreateResponseDto response = userService.createUsers(List.of(
+                dto(first, first + "@example.com"),
+                dto(first, "other" + first + "@example.com"),
+                dto(existing.getUsername(), "taken" + first + "@example.com"),
+                dto("ab", "invalid" + first + "@example.com"),
+                dto("mail" + first, existing.getEmail()),
+                dto(second, second + "@example.com")));
+        response.getResults().stream().map(BatchCreateResultDto::getId).filter(Objects::nonNull).forEach(ids::add);
+
+        assertThat(response.getRequested()).isEqualTo(6);
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getResults())
+                .extracting(BatchCreateResultDto::getIndex, BatchCreateResultDto::getStatus)
+                .containsExactly(
+                        tuple(0, BatchCreateResultDto.Status.CREATED),
+                        tuple(1, BatchCreateResultDto.Status.DUPLICATE),
+                        tuple(2, BatchCreateResultDto.Status.DUPLICATE),
+                        tuple(3, BatchCreateResultDto.Status.INVALID),
+                        tuple(4, BatchCreateResultDto.Status.DUPLICATE),
+                        tuple(5, BatchCreateResultDto.Status.CREATED));
+
+        List<BatchCreateResultDto> results = response.getResults();
+        assertThat(results.get(1).getMessage()).startsWith("Username appears more than once in batch");
+        assertThat(results.get(2).getMessage()).startsWith("Username already exists");
+        assertThat(results.get(3).getMessage()).startsWith("username: ");
+        assertThat(results.get(4).getMessage()).startsWith("Email already exists");
+        assertThat(results.get(2).getId()).isNull();
+
+        assertThat(userRepository.findById(results.get(0).getId()))
+                .hasValueSatisfying(user -> assertThat(user.getUsername()).isEqualTo(first));
+        assertThat(userRepository.findById(results.get(5).getId()))
+                .hasValueSatisfying(user -> assertThat(user.getUsername()).isEqualTo(second));
+        assertThat(userRepository.existsByUsername("mail" + first)).isFalse();
+    }
+
+    private static CreateUserDto dto(String username, String email) {
+        return new CreateUserDto(username, email, "password123", "Batch", "User", 30);
+    }
+}
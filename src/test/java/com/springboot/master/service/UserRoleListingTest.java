@@ -0,0 +1,119 @@
+package com.springboot.master.service;
+
+import com.springboot.master.dto.CursorPage;
+import com.springboot.master.dto.UserResponseDto;
+import com.springboot.master.entity.User;
+import com.springboot.master.entity.UserRole;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Role Listing Test
+ *
+ * Demonstrates:
+ * - Keyset paging through a role without duplicates or gaps
+ * - Cached pages surviving writes that bypass the service, and being
+ *   refreshed by service writes that touch the role
+ * - Role counters following role changes without a COUNT query
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRoleListingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRoleCounter userRoleCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            users.add(TestUsers.save(userRepository, "role" + i + "x", "Role", "Listing"));
+        }
+        userRoleCounter.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch(users);
+        userRoleCounter.reconcile();
+    }
+
+    @Test
+    void roleChangesRefreshCachedPagesAndCounters() {
+        long moderators = userService.countUsersByRole(UserRole.MODERATOR);
+        long regularUsers = userService.countUsersByRole(UserRole.USER);
+        assertThat(moderatorIds()).doesNotContain(users.get(0).getId());
+
+        userService.changeUserRole(users.get(0).getId(), UserRole.MODERATOR);
+        assertThat(moderatorIds()).contains(users.get(0).getId());
+        assertThat(userService.countUsersByRole(UserRole.MODERATOR)).isEqualTo(moderators + 1);
+        assertThat(userService.countUsersByRole(UserRole.USER)).isEqualTo(regularUsers - 1);
+
+        // A write that bypasses the service is not seen until the role is invalidated
+        User bypassed = userRepository.findById(users.get(1).getId()).orElseThrow();
+        bypassed.setRole(UserRole.MODERATOR);
+        userRepository.save(bypassed);
+        assertThat(moderatorIds()).doesNotContain(users.get(1).getId());
+
+        userService.changeUserRole(users.get(2).getId(), UserRole.MODERATOR);
+        assertThat(moderatorIds()).contains(users.get(1).getId(), users.get(2).getId());
+    }
+
+    @Test
+    void deactivationRefreshesCachedPage() {
+        userService.changeUserRole(users.get(0).getId(), UserRole.MODERATOR);
+        assertThat(findModerator(users.get(0).getId()).getIsActive()).isTrue();
+
+        userService.deleteUser(users.get(0).getId());
+        assertThat(findModerator(users.get(0).getId()).getIsActive()).isFalse();
+    }
+
+    @Test
+    void keysetPagesCoverRoleExactlyOnce() {
+        for (User user : users) {
+            userService.changeUserRole(user.getId(), UserRole.MODERATOR);
+        }
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPage<UserResponseDto> page = userService.getUsersByRole(UserRole.MODERATOR, cursor, 1);
+            page.getContent().forEach(user -> seen.add(user.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).doesNotHaveDuplicates();
+        assertThat(seen).hasSize((int) userService.countUsersByRole(UserRole.MODERATOR));
+        assertThat(seen).containsAll(users.stream().map(User::getId).toList());
+    }
+
+    private List<Long> moderatorIds() {
+        return userService.getUsersByRole(UserRole.MODERATOR, "", UserService.MAX_PAGE_SIZE).getContent().stream()
+                .map(UserResponseDto::getId)
+                .toList();
+    }
+
+    private UserResponseDto findModerator(Long id) {
+        return userService.getUsersByRole(UserRole.MODERATOR, "", UserService.MAX_PAGE_SIZE).getContent().stream()
+                .filter(user -> user.getId().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+}
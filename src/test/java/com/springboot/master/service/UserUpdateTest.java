@@ -0,0 +1,132 @@
+package com.springboot.master.service;
+
+import com.springboot.master.dto.CreateUserDto;
+import com.springboot.master.dto.UserPatchDto;
+import com.springboot.master.dto.UserResponseDto;
+import com.springboot.master.entity.User;
+import com.springboot.master.exception.DuplicateResourceException;
+import com.springboot.master.exception.PreconditionFailedException;
+import com.springboot.master.repository.UserRepository;
+import com.springboot.master.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * User Update Test
+ *
+ * Demonstrates:
+ * - Unique constraint violations reported as DuplicateResourceException
+ *   naming the field, without pre-check queries
+ * - Conditional updates rejected when the expected version is stale
+ * - The version column catching an update based on a stale read
+ * - Merge patches changing only the members sent, and no-op patches writing nothing
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserUpdateTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 2; i++) {
+            users.add(TestUsers.save(userRepository, "update" + i + "x", "Update", "Test"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void duplicateUsernameAndEmailAreReportedByField() {
+        User first = users.get(0);
+        User second = users.get(1);
+
+        assertThatThrownBy(() -> userService.updateUser(first.getId(), dto(second.getUsername(), first.getEmail()), null))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageStartingWith("Username already exists");
+        assertThatThrownBy(() -> userService.updateUser(first.getId(), dto(first.getUsername(), second.getEmail()), null))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageStartingWith("Email already exists");
+
+        // Neither failed update was applied
+        User reloaded = userRepository.findById(first.getId()).orElseThrow();
+        assertThat(reloaded.getUsername()).isEqualTo(first.getUsername());
+        assertThat(reloaded.getEmail()).isEqualTo(first.getEmail());
+        assertThat(reloaded.getVersion()).isEqualTo(first.getVersion());
+    }
+
+    @Test
+    void expectedVersionMustBeCurrent() {
+        User user = users.get(0);
+        UserResponseDto updated = userService.updateUser(user.getId(), dto(user.getUsername(), user.getEmail()), user.getVersion());
+        assertThat(updated.getVersion()).isEqualTo(user.getVersion() + 1);
+
+        assertThatThrownBy(() -> userService.updateUser(user.getId(), dto(user.getUsername(), user.getEmail()), user.getVersion()))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void staleWriteFailsTheVersionCheck() {
+        User stale = userRepository.findById(users.get(0).getId()).orElseThrow();
+        userService.updateUser(stale.getId(), dto(stale.getUsername(), stale.getEmail()), null);
+
+        stale.setFirstName("Lost");
+        assertThatThrownBy(() -> userRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(userRepository.findById(stale.getId()).orElseThrow().getFirstName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void patchChangesOnlyTheMembersSent() {
+        User user = users.get(0);
+        UserPatchDto patch = new UserPatchDto();
+        patch.setLastName("Patched");
+
+        UserService.PatchResult result = userService.patchUser(user.getId(), patch, null);
+        assertThat(result.changed()).isTrue();
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(reloaded.getLastName()).isEqualTo("Patched");
+        assertThat(reloaded.getFirstName()).isEqualTo(user.getFirstName());
+        assertThat(reloaded.getAge()).isEqualTo(user.getAge());
+        assertThat(reloaded.getVersion()).isEqualTo(user.getVersion() + 1);
+
+        // Sending the stored values again is not a change
+        UserService.PatchResult unchanged = userService.patchUser(user.getId(), patch, null);
+        assertThat(unchanged.changed()).isFalse();
+        assertThat(unchanged.user().getVersion()).isEqualTo(reloaded.getVersion());
+    }
+
+    @Test
+    void patchedUsernameIsStillUnique() {
+        UserPatchDto patch = new UserPatchDto();
+        patch.setUsername(users.get(1).getUsername());
+
+        assertThatThrownBy(() -> userService.patchUser(users.get(0).getId(), patch, null))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageStartingWith("Username already exists");
+    }
+
+    private static CreateUserDto dto(String username, String email) {
+        return new CreateUserDto(username, email, "password123", "Renamed", "Test", 31);
+    }
+}
@@ -0,0 +1,42 @@
+package com.springboot.master.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum Hibernate activity a test method may cause
+ *
+ * Demonstrates:
+ * - Guarding against N+1 regressions with an explicit, reviewable budget
+ *
+ * Only the test method body is measured (not @BeforeEach setup). Limits left
+ * at -1 are not checked. Counts come from
+ * {@link com.springboot.master.metrics.QueryStatistics} on the test thread, which
+ * is also the request thread when calling endpoints through MockMvc.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * Maximum JDBC statements (a batch counts as one)
+     */
+    long statements();
+
+    /**
+     * Maximum entities hydrated, -1 for no limit
+     */
+    long entities() default -1;
+
+    /**
+     * Maximum lazily initialized collections, -1 for no limit
+     */
+    long collections() default -1;
+}
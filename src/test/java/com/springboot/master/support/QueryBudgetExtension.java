@@ -0,0 +1,49 @@
+package com.springboot.master.support;
+
+import com.springboot.master.metrics.QueryStatistics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fails a test that exceeds its {@link QueryBudget}
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), QueryStatistics.snapshot());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryStatistics.Snapshot before = context.getStore(NAMESPACE)
+                .remove(context.getUniqueId(), QueryStatistics.Snapshot.class);
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestMethod(), QueryBudget.class);
+        if (before == null || budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        QueryStatistics.Snapshot used = QueryStatistics.snapshot().since(before);
+
+        List<String> exceeded = new ArrayList<>();
+        check(exceeded, "statements", used.statements(), budget.statements());
+        check(exceeded, "entities", used.entityLoads(), budget.entities());
+        check(exceeded, "collections", used.collectionFetches(), budget.collections());
+        if (!exceeded.isEmpty()) {
+            throw new AssertionFailedError("Query budget exceeded (" + String.join(", ", exceeded) + "); used " + used);
+        }
+    }
+
+    private static void check(List<String> exceeded, String name, long used, long limit) {
+        if (limit >= 0 && used > limit) {
+            exceeded.add(name + " " + used + " > " + limit);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.springboot.master.support;
+
+import com.springboot.master.entity.User;
+import com.springboot.master.repository.UserRepository;
+
+/**
+ * Shared user fixtures for integration tests
+ *
+ * Demonstrates:
+ * - One place for seed data that satisfies the entity's bean validation
+ * - Unique usernames and emails per call, so tests sharing a context never collide
+ */
+public final class TestUsers {
+
+    /**
+     * BCrypt (cost 4) hash of "password123"; valid for User.password without hashing per test
+     */
+    public static final String PASSWORD_HASH = "$2a$04$ioXx82rNLjD6A3NvIGNIVOEU.CrGSpazGbCWQ6yHcVRd5SMjXRCUW";
+
+    private TestUsers() {}
+
+    /**
+     * Unsaved user aged 30 whose username starts with the prefix and whose email is derived from it
+     */
+    public static User newUser(String prefix, String firstName, String lastName) {
+        String username = prefix + System.nanoTime();
+        return new User(username, username + "@example.com", PASSWORD_HASH, firstName, lastName, 30);
+    }
+
+    public static User save(UserRepository userRepository, String prefix, String firstName, String lastName) {
+        return userRepository.save(newUser(prefix, firstName, lastName));
+    }
+}